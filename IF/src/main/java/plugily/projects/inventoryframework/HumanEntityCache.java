@@ -3,6 +3,7 @@ package plugily.projects.inventoryframework;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
@@ -127,6 +128,18 @@ public class HumanEntityCache {
         inventories.put(humanEntity, items);
     }
 
+    /**
+     * Gets whether the inventory of the specified human entity is currently stored in this cache.
+     *
+     * @param humanEntity the human entity to check for
+     * @return true if the human entity's inventory is cached, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public boolean contains(@NotNull HumanEntity humanEntity) {
+        return inventories.containsKey(humanEntity);
+    }
+
     /**
      * Restores the contents of the specified human entity. This method will fail silently if no cache is available. The
      * cache will not be cleared.
@@ -1,6 +1,7 @@
 package plugily.projects.inventoryframework.gui;
 
 import plugily.projects.inventoryframework.util.UUIDMetaUtil;
+import org.bukkit.Material;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -37,7 +38,24 @@ public class GuiItem {
      * The items shown
      */
     @NotNull
-    private final ItemStack item;
+    private ItemStack item;
+
+    /**
+     * Whether the item may be shared with copies of this gui item, in which case it has to be cloned before it can be
+     * changed, see {@link #copy()}
+     */
+    private boolean shared;
+
+    /**
+     * Whether the item may be referenced from outside of this gui item, because it was passed to a constructor or
+     * handed out via {@link #getItem()}. Such an item can be changed at any time, so it is never shared with copies.
+     */
+    private boolean exposed;
+
+    /**
+     * A counter which is incremented whenever the item may have been changed, see {@link #getModificationCount()}
+     */
+    private int modificationCount;
 
     /**
      * Whether this item is visible or not
@@ -50,6 +68,11 @@ public class GuiItem {
     @NotNull
     private UUID uuid = UUID.randomUUID();
 
+    /**
+     * A counter which is incremented whenever the visibility of any gui item changes, see {@link #getVisibilityEpoch()}
+     */
+    private static long visibilityEpoch;
+
     /**
      * Creates a new gui item based on the item stack and action
      *
@@ -61,6 +84,7 @@ public class GuiItem {
         this.visible = true;
         this.properties = new ArrayList<>();
         this.item = item;
+        this.exposed = true;
 
         //remove this call after the removal of InventoryComponent#setItem(ItemStack, int, int)
         applyUUID();
@@ -75,34 +99,104 @@ public class GuiItem {
         this(item, null);
     }
 
+    /**
+     * Creates a new gui item which takes ownership of the specified item stack. Unlike the constructors, which leave
+     * the item stack with the caller, the item stack must not be referenced or changed from outside of the gui item
+     * afterwards; it can only be changed through {@link #getItem()}. This allows {@link #copy() copies} of the gui item
+     * to share the item stack until either of them changes it, instead of cloning it right away.
+     *
+     * @param item the item stack, which must not be used by the caller afterwards
+     * @param action the action called whenever an interaction with this item happens
+     * @return the gui item
+     * @since 0.9.9
+     */
+    @NotNull
+    @Contract("_, _ -> new")
+    public static GuiItem owning(@NotNull ItemStack item, @Nullable Consumer<InventoryClickEvent> action) {
+        GuiItem guiItem = new GuiItem(item, action);
+
+        guiItem.exposed = false;
+
+        return guiItem;
+    }
+
+    /**
+     * Creates a new gui item for the specified item, which already carries the specified UUID
+     *
+     * @param item the item stack
+     * @param action the action called whenever an interaction with this item happens
+     * @param uuid the UUID of the item
+     * @param shared whether the item is shared with another gui item
+     * @since 0.9.9
+     */
+    private GuiItem(@NotNull ItemStack item, @Nullable Consumer<InventoryClickEvent> action, @NotNull UUID uuid,
+                    boolean shared) {
+        this.action = action;
+        this.item = item;
+        this.uuid = uuid;
+        this.shared = shared;
+    }
+
     /**
      * Makes a copy of this gui item and returns it. This makes a deep copy of the gui item. This entails that the
      * underlying item will be copied as per their {@link ItemStack#clone()} and miscellaneous data will be copied in
      * such a way that they are identical. The returned gui item will never be reference equal to the current gui item.
      *
+     * As long as the underlying item is not referenced from outside of this gui item, it is copied on write: the copy
+     * shares the item with this gui item until either of them hands it out via {@link #getItem()}, at which point that
+     * gui item clones it. This is the case for gui items created via {@link #owning(ItemStack, Consumer)}, like the
+     * items loaded from XML, and for copies, so copying a gui once and copying that copy for every player only clones
+     * the items once. An item that was passed to a constructor or has been handed out may still be changed by whoever
+     * holds it, so it is cloned right away instead. Copying a gui item never reads the meta of the item or applies the
+     * UUID to it again, since the item already carries the same UUID.
+     *
      * @return a copy of the gui item
      * @since 0.6.2
      */
     @NotNull
     @Contract(pure = true)
     public GuiItem copy() {
-        GuiItem guiItem = new GuiItem(item.clone(), action);
+        if (isAir(item.getType())) {
+            throw new IllegalArgumentException("item must be able to have ItemMeta (it mustn't be AIR)");
+        }
 
-        guiItem.visible = visible;
-        guiItem.uuid = uuid;
-        guiItem.properties = new ArrayList<>(properties);
-        ItemMeta meta = guiItem.item.getItemMeta();
+        GuiItem guiItem;
 
-        if (meta == null) {
-            throw new IllegalArgumentException("item must be able to have ItemMeta (it mustn't be AIR)");
+        if (exposed) {
+            guiItem = new GuiItem(item.clone(), action, uuid, false);
+        } else {
+            guiItem = new GuiItem(item, action, uuid, true);
+
+            shared = true;
         }
 
-        UUIDMetaUtil.put(meta, guiItem.uuid);
-        guiItem.item.setItemMeta(meta);
+        guiItem.visible = visible;
+        guiItem.properties = new ArrayList<>(properties);
 
         return guiItem;
     }
 
+    /**
+     * Gets whether the specified type is a type of air, which items can't have an item meta for. This compares the
+     * type by name, since not every type of air exists on every version.
+     *
+     * @param type the type
+     * @return true if the type is a type of air, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    private static boolean isAir(@NotNull Material type) {
+        switch (type.name()) {
+            case "AIR":
+            case "CAVE_AIR":
+            case "VOID_AIR":
+            case "LEGACY_AIR":
+                return true;
+            default:
+                return false;
+        }
+    }
+
     /**
      * Calls the handler of the {@link InventoryClickEvent}
      * if such a handler was specified in the constructor.
@@ -127,17 +221,22 @@ public class GuiItem {
 
     /**
      * Sets the internal UUID of this gui item onto the underlying item. Previously set UUID will be overwritten by the
-     * current UUID. If the underlying item does not have an item meta, this method will silently do nothing.
+     * current UUID. If the underlying item does not have an item meta, this method will silently do nothing. If the
+     * underlying item already carries the current UUID, the item is left untouched.
      *
      * @since 0.9.3
      */
     public void applyUUID() {
         ItemMeta meta = item.getItemMeta();
 
-        if (meta != null) {
-            UUIDMetaUtil.put(meta, uuid);
-            item.setItemMeta(meta);
+        if (meta == null || uuid.equals(UUIDMetaUtil.getUUID(meta))) {
+            return;
         }
+
+        UUIDMetaUtil.put(meta, uuid);
+        getOwnItem().setItemMeta(meta);
+
+        modificationCount++;
     }
 
     /**
@@ -173,16 +272,76 @@ public class GuiItem {
     }
 
     /**
-     * Returns the item
+     * Returns the item. If the item is shared with a {@link #copy() copy} of this gui item, it is cloned first, so
+     * changes made to the returned item only affect this gui item.
      *
      * @return the item that belongs to this gui item
      */
     @NotNull
-    @Contract(pure = true)
     public ItemStack getItem() {
+        ItemStack item = getOwnItem();
+
+        exposed = true;
+        modificationCount++;
+
+        return item;
+    }
+
+    /**
+     * Returns the item, cloning it first if it is shared with a copy of this gui item, without handing it out
+     *
+     * @return the item that belongs to this gui item
+     * @since 0.9.9
+     */
+    @NotNull
+    private ItemStack getOwnItem() {
+        if (shared) {
+            item = item.clone();
+            shared = false;
+        }
+
         return item;
     }
 
+    /**
+     * Returns the item without cloning it if it is shared with a copy of this gui item. The returned item must not be
+     * changed. This is used for placing the item in an inventory, which copies the item anyway.
+     *
+     * @return the item that belongs to this gui item
+     * @since 0.9.9
+     */
+    @NotNull
+    @Contract(pure = true)
+    ItemStack getSharedItem() {
+        return item;
+    }
+
+    /**
+     * Gets the modification count of this gui item, which changes whenever the item may have been changed: when it is
+     * handed out via {@link #getItem()} or when the UUID is applied to it. As long as this count stays the same and
+     * the item isn't {@link #isExposed() exposed}, the item is unchanged, so it doesn't have to be compared against a
+     * previous state.
+     *
+     * @return the modification count
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Gets whether the item may be referenced from outside of this gui item, because it was passed to a constructor or
+     * handed out via {@link #getItem()}. Such an item may be changed at any time without this gui item noticing.
+     *
+     * @return true if the item may be referenced from outside, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    boolean isExposed() {
+        return exposed;
+    }
+
     /**
      * Gets the {@link UUID} associated with this {@link GuiItem}. This is for internal use only, and should not be
      * used.
@@ -211,6 +370,25 @@ public class GuiItem {
      * @param visible the new visibility
      */
     public void setVisible(boolean visible) {
+        if (this.visible == visible) {
+            return;
+        }
+
         this.visible = visible;
+
+        visibilityEpoch++;
+    }
+
+    /**
+     * Gets the visibility epoch, which changes whenever the visibility of any gui item changes. Panes don't know when
+     * the visibility of one of their items changes, so cached pane output is only valid as long as this epoch stays the
+     * same.
+     *
+     * @return the visibility epoch
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    static long getVisibilityEpoch() {
+        return visibilityEpoch;
     }
 }
@@ -2,6 +2,9 @@ package plugily.projects.inventoryframework.gui;
 
 import plugily.projects.inventoryframework.gui.type.util.Gui;
 import plugily.projects.inventoryframework.pane.Pane;
+import plugily.projects.inventoryframework.pane.util.ViewState;
+import plugily.projects.inventoryframework.util.version.Version;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -30,10 +33,137 @@ public class InventoryComponent {
     protected final List<Pane> panes = new ArrayList<>();
 
     /**
-     * The items this inventory component has, stored in row-major order. Slots that are empty are represented as null.
+     * The items this inventory component has, stored in row-major order and indexed by slot: the item at (x, y) is
+     * stored at index y * length + x. Slots that are empty are represented as null.
      */
     @Nullable
-    private final ItemStack[][] items;
+    private final ItemStack[] items;
+
+    /**
+     * The gui items which placed the items of this inventory component and the panes which placed them, as displayed
+     * for the {@link #displayedViewer}. This allows a click to find the clicked gui item with a single lookup, see
+     * {@link #getDisplayedItem(int)}.
+     */
+    @NotNull
+    private DisplayTable displayTable;
+
+    /**
+     * The {@link ViewState#getViewer() viewer} the {@link #displayTable} belongs to, or null if it belongs to the
+     * shared state
+     */
+    @Nullable
+    private HumanEntity displayedViewer;
+
+    /**
+     * The display tables of the viewers this inventory component was displayed for before it was displayed for the
+     * {@link #displayedViewer}, keyed by viewer. The table of the shared state is stored under null. This is null
+     * until this inventory component has been displayed for more than one viewer.
+     */
+    @Nullable
+    private Map<HumanEntity, DisplayTable> viewerDisplayTables;
+
+    /**
+     * The previous frame of this inventory component: the items as they were placed when this component was last
+     * displayed, stored in the same layout as {@link #items}. Together with {@link #previousGuiItems} and
+     * {@link #previousModificationCounts} this tells whether a slot changed without comparing the items themselves.
+     */
+    @Nullable
+    private final ItemStack[] previousItems;
+
+    /**
+     * The gui items which placed the items of the previous frame, stored in the same layout as {@link #items}
+     */
+    @Nullable
+    private final GuiItem[] previousGuiItems;
+
+    /**
+     * The {@link GuiItem#getModificationCount() modification counts} of the {@link #previousGuiItems} at the time the
+     * previous frame was displayed, stored in the same layout as {@link #items}
+     */
+    @NotNull
+    private final int[] previousModificationCounts;
+
+    /**
+     * Whether the slot at the corresponding index changed between the previous frame and the current frame
+     */
+    private final boolean[] changedSlots;
+
+    /**
+     * The amount of slots which changed between the previous frame and the current frame
+     */
+    private int changedSlotCount;
+
+    /**
+     * Whether a region of this inventory component has been invalidated, see {@link #invalidate(int, int, int, int)}
+     */
+    private boolean invalidated;
+
+    /**
+     * The bounds of the invalidated region of this inventory component, inclusive on both ends. These are only
+     * meaningful while {@link #invalidated} is true.
+     */
+    private int invalidMinX, invalidMinY, invalidMaxX, invalidMaxY;
+
+    /**
+     * Whether items placed in this inventory component are currently restricted to the invalidated region. This is the
+     * case while {@link #displayInvalidated()} renders the panes.
+     */
+    private boolean clipping;
+
+    /**
+     * The output of the cacheable panes of this component, as recorded when they were last displayed. A pane which has
+     * not been modified since its output was recorded is replayed from here instead of being displayed again.
+     */
+    @NotNull
+    private final Map<Pane, PaneOutput> paneOutputs = new IdentityHashMap<>();
+
+    /**
+     * The pane output which is currently being recorded, or null if no output is being recorded
+     */
+    @Nullable
+    private PaneOutput recording;
+
+    /**
+     * The compiled render plan of this component: for every slot, the gui item which ends up in that slot after all
+     * panes have been displayed, or null if the slot stays empty. This is null if no valid plan could be compiled.
+     */
+    @Nullable
+    private GuiItem[] plan;
+
+    /**
+     * The panes which placed the gui items of the {@link #plan}, at the same index as the gui item they placed
+     */
+    @NotNull
+    private Pane[] planOwners = new Pane[0];
+
+    /**
+     * The modification counts of the gui items of the {@link #plan} after their UUID was last applied, at the same
+     * index as the gui item they belong to
+     */
+    @NotNull
+    private int[] planModificationCounts = new int[0];
+
+    /**
+     * The panes of this component, in order, at the time the {@link #plan} was compiled
+     */
+    @NotNull
+    private Pane[] planPanes = new Pane[0];
+
+    /**
+     * The versions of the {@link #planPanes} at the time the {@link #plan} was compiled
+     */
+    @NotNull
+    private long[] planVersions = new long[0];
+
+    /**
+     * The visibility epoch of gui items at the time the {@link #plan} was compiled
+     */
+    private long planVisibilityEpoch;
+
+    /**
+     * The amount of slots in the storage contents of a player inventory: the hotbar and the main inventory
+     */
+    private static final int PLAYER_STORAGE_SIZE = 36;
 
     /**
      * The length and height of this inventory component
@@ -56,7 +186,12 @@ public class InventoryComponent {
         this.length = length;
         this.height = height;
 
-        this.items = new ItemStack[length][height];
+        this.items = new ItemStack[length * height];
+        this.displayTable = new DisplayTable(length * height);
+        this.previousItems = new ItemStack[length * height];
+        this.previousGuiItems = new GuiItem[length * height];
+        this.previousModificationCounts = new int[length * height];
+        this.changedSlots = new boolean[length * height];
     }
 
     /**
@@ -143,7 +278,9 @@ public class InventoryComponent {
      * slots will be placed from the top-right to the bottom-left, continuing from left-to-right, top-to-bottom plus the
      * specified offset. This ordering is different from the normal ordering of the indices of a
      * {@link PlayerInventory}. See for the normal ordering of a {@link PlayerInventory}'s slots its documentation. In
-     * contrast to {@link #display(PlayerInventory, int)} this does not render the panes of this component.
+     * contrast to {@link #display(PlayerInventory, int)} this does not render the panes of this component. When this
+     * component covers the entire storage contents of the player inventory, all items are set in a single call on 1.9
+     * and newer.
      *
      * @param inventory the inventory to place the items in
      * @param offset the offset from which to start counting the slots
@@ -151,25 +288,47 @@ public class InventoryComponent {
      * @see #placeItems(Inventory, int)
      */
     public void placeItems(@NotNull PlayerInventory inventory, int offset) {
-        for (int x = 0; x < getLength(); x++) {
-            for (int y = 0; y < getHeight(); y++) {
-                int slot;
-
-                if (y == getHeight() - 1) {
-                    slot = x + offset;
-                } else {
-                    slot = (y + 1) * getLength() + x + offset;
-                }
+        placeItems(inventory, offset, 0, getHeight() - 1);
+    }
 
-                inventory.setItem(slot, getItem(x, y));
-            }
+    /**
+     * This places the items in the specified range of rows of this inventory component into the specified player
+     * inventory, as if the rows were an inventory component of their own: the last row of the range is placed in the
+     * hotbar. The range is 0-indexed and inclusive on both ends. When the range specified contains rows that are not
+     * included in this inventory component, an {@link IllegalArgumentException} will be thrown. See
+     * {@link #placeItems(PlayerInventory, int)} for the ordering of the slots. In contrast to
+     * {@link #excludeRows(int, int)} this does not create a new inventory component.
+     *
+     * @param inventory the inventory to place the items in
+     * @param offset the offset from which to start counting the slots
+     * @param from the first row to place
+     * @param end the last row to place
+     * @since 0.9.9
+     */
+    public void placeItems(@NotNull PlayerInventory inventory, int offset, int from, int end) {
+        checkRows(from, end);
+
+        int start = from * getLength();
+        int size = (end + 1) * getLength() - start;
+        int lastRow = size - getLength();
+
+        //storage contents can only be set as a whole since 1.9
+        if (offset == 0 && size == PLAYER_STORAGE_SIZE && Version.CURRENT.getMinor() >= 9) {
+            inventory.setStorageContents(getPlayerStorageContents(from, end));
+
+            return;
+        }
+
+        for (int index = 0; index < size; index++) {
+            inventory.setItem(toPlayerInventorySlot(index, lastRow) + offset, items[start + index]);
         }
     }
 
     /**
      * This places the items currently existing in this inventory component into the specified inventory. The slots will
      * start at the given offset up to this component's size + the offset specified. In contrast to
-     * {@link #display(Inventory, int)} this does not render the panes of this component.
+     * {@link #display(Inventory, int)} this does not render the panes of this component. When this component covers the
+     * entire inventory, all items are set in a single call.
      *
      * @param inventory the inventory to place the items in
      * @param offset the offset from which to start counting the slots
@@ -177,11 +336,145 @@ public class InventoryComponent {
      * @see #placeItems(PlayerInventory, int)
      */
     public void placeItems(@NotNull Inventory inventory, int offset) {
-        for (int x = 0; x < getLength(); x++) {
-            for (int y = 0; y < getHeight(); y++) {
-                inventory.setItem(y * getLength() + x + offset, getItem(x, y));
+        placeItems(inventory, offset, 0, getHeight() - 1);
+    }
+
+    /**
+     * This places the items in the specified range of rows of this inventory component into the specified inventory, as
+     * if the rows were an inventory component of their own. The range is 0-indexed and inclusive on both ends. When the
+     * range specified contains rows that are not included in this inventory component, an
+     * {@link IllegalArgumentException} will be thrown. In contrast to {@link #excludeRows(int, int)} this does not
+     * create a new inventory component.
+     *
+     * @param inventory the inventory to place the items in
+     * @param offset the offset from which to start counting the slots
+     * @param from the first row to place
+     * @param end the last row to place
+     * @since 0.9.9
+     */
+    public void placeItems(@NotNull Inventory inventory, int offset, int from, int end) {
+        checkRows(from, end);
+
+        int start = from * getLength();
+        int size = (end + 1) * getLength() - start;
+
+        if (offset == 0 && size == inventory.getSize()) {
+            inventory.setContents(size == items.length ? items : Arrays.copyOfRange(items, start, start + size));
+
+            return;
+        }
+
+        for (int index = 0; index < size; index++) {
+            inventory.setItem(index + offset, items[start + index]);
+        }
+    }
+
+    /**
+     * This places the items which changed between the previous frame and the current frame of this inventory component
+     * into the specified player inventory. This assumes the player inventory still holds the items of the previous
+     * frame. The slots are ordered in the same way as in {@link #placeItems(PlayerInventory, int)}. This does not render
+     * the panes of this component.
+     *
+     * @param inventory the inventory to place the items in
+     * @param offset the offset from which to start counting the slots
+     * @return the amount of slots which were placed
+     * @since 0.9.9
+     * @see #getChangedSlotCount()
+     */
+    public int placeChangedItems(@NotNull PlayerInventory inventory, int offset) {
+        return placeChangedItems(inventory, offset, 0, getHeight() - 1);
+    }
+
+    /**
+     * This places the items in the specified range of rows which changed between the previous frame and the current
+     * frame of this inventory component into the specified player inventory. The rows are placed in the same way as in
+     * {@link #placeItems(PlayerInventory, int, int, int)}.
+     *
+     * @param inventory the inventory to place the items in
+     * @param offset the offset from which to start counting the slots
+     * @param from the first row to place
+     * @param end the last row to place
+     * @return the amount of slots which were placed
+     * @since 0.9.9
+     */
+    public int placeChangedItems(@NotNull PlayerInventory inventory, int offset, int from, int end) {
+        int changedSlotCount = getChangedSlotCount(from, end);
+
+        if (changedSlotCount == 0) {
+            return 0;
+        }
+
+        int start = from * getLength();
+        int size = (end + 1) * getLength() - start;
+
+        if (changedSlotCount == size) {
+            placeItems(inventory, offset, from, end);
+
+            return changedSlotCount;
+        }
+
+        int lastRow = size - getLength();
+
+        for (int index = 0; index < size; index++) {
+            if (changedSlots[start + index]) {
+                inventory.setItem(toPlayerInventorySlot(index, lastRow) + offset, items[start + index]);
             }
         }
+
+        return changedSlotCount;
+    }
+
+    /**
+     * This places the items which changed between the previous frame and the current frame of this inventory component
+     * into the specified inventory. This assumes the inventory still holds the items of the previous frame. The slots
+     * will start at the given offset up to this component's size + the offset specified. This does not render the panes
+     * of this component.
+     *
+     * @param inventory the inventory to place the items in
+     * @param offset the offset from which to start counting the slots
+     * @return the amount of slots which were placed
+     * @since 0.9.9
+     * @see #getChangedSlotCount()
+     */
+    public int placeChangedItems(@NotNull Inventory inventory, int offset) {
+        return placeChangedItems(inventory, offset, 0, getHeight() - 1);
+    }
+
+    /**
+     * This places the items in the specified range of rows which changed between the previous frame and the current
+     * frame of this inventory component into the specified inventory. The rows are placed in the same way as in
+     * {@link #placeItems(Inventory, int, int, int)}.
+     *
+     * @param inventory the inventory to place the items in
+     * @param offset the offset from which to start counting the slots
+     * @param from the first row to place
+     * @param end the last row to place
+     * @return the amount of slots which were placed
+     * @since 0.9.9
+     */
+    public int placeChangedItems(@NotNull Inventory inventory, int offset, int from, int end) {
+        int changedSlotCount = getChangedSlotCount(from, end);
+
+        if (changedSlotCount == 0) {
+            return 0;
+        }
+
+        int start = from * getLength();
+        int size = (end + 1) * getLength() - start;
+
+        if (changedSlotCount == size) {
+            placeItems(inventory, offset, from, end);
+
+            return changedSlotCount;
+        }
+
+        for (int index = 0; index < size; index++) {
+            if (changedSlots[start + index]) {
+                inventory.setItem(index + offset, items[start + index]);
+            }
+        }
+
+        return changedSlotCount;
     }
 
     /**
@@ -207,10 +500,58 @@ public class InventoryComponent {
         }
     }
 
+    /**
+     * Gets the gui item which placed the item in the specified slot when this inventory component was last displayed
+     * for the current {@link ViewState#getViewer() viewer}. Panes use this to find the gui item that was clicked,
+     * instead of looking up the clicked item by its meta. A table of the displayed gui items is kept per viewer, so
+     * this works for every viewer of a gui whose state is kept per viewer, regardless of which viewer was rendered
+     * last.
+     *
+     * @param slot the slot, counted in row-major order
+     * @return the gui item or null if the slot is out of bounds, empty, wasn't filled by a gui item or this inventory
+     * component hasn't been displayed for the current viewer
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    public GuiItem getDisplayedItem(int slot) {
+        DisplayTable table = getDisplayTable();
+
+        if (table == null || slot < 0 || slot >= table.items.length) {
+            return null;
+        }
+
+        return table.items[slot];
+    }
+
+    /**
+     * Gets the pane which placed the item in the specified slot when this inventory component was last displayed for
+     * the current {@link ViewState#getViewer() viewer}, as passed to {@link #setItem(GuiItem, int, Pane)}. This allows
+     * a pane to check in constant time whether a clicked slot belongs to it.
+     *
+     * @param slot the slot, counted in row-major order
+     * @return the pane or null if the slot is out of bounds, empty, wasn't filled by a pane or this inventory component
+     * hasn't been displayed for the current viewer
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Pane getDisplayedPane(int slot) {
+        DisplayTable table = getDisplayTable();
+
+        if (table == null || slot < 0 || slot >= table.panes.length) {
+            return null;
+        }
+
+        return table.panes[slot];
+    }
+
     /**
      * Creates a deep copy of this inventory component. This means that all internal items will be cloned and all panes
-     * will be copied as per their own {@link ItemStack#clone()} and {@link Pane#copy()} methods. The returned inventory
-     * component is guaranteed to not reference equals this inventory component.
+     * will be copied as per their own {@link ItemStack#clone()} and {@link Pane#copy()} methods. The gui items of the
+     * copied panes share their underlying items with the original gui items until either of them is changed, see
+     * {@link GuiItem#copy()}. The returned inventory component is guaranteed to not reference equals this inventory
+     * component.
      *
      * @return the new inventory component
      * @since 0.8.0
@@ -220,21 +561,16 @@ public class InventoryComponent {
     public InventoryComponent copy() {
         InventoryComponent inventoryComponent = new InventoryComponent(getLength(), getHeight());
 
-        for (int x = 0; x < getLength(); x++) {
-            for (int y = 0; y < getHeight(); y++) {
-                ItemStack item = getItem(x, y);
-
-                if (item == null) {
-                    continue;
-                }
+        for (int index = 0; index < items.length; index++) {
+            ItemStack item = items[index];
 
-                inventoryComponent.setItem(item.clone(), x, y);
+            if (item != null) {
+                inventoryComponent.items[index] = item.clone();
             }
         }
 
-        for (Pane pane : getPanes()) {
-            inventoryComponent.addPane(pane.copy());
-        }
+        inventoryComponent.panes.addAll(getPanes());
+        inventoryComponent.panes.replaceAll(Pane::copy);
 
         return inventoryComponent;
     }
@@ -247,7 +583,8 @@ public class InventoryComponent {
      * copied. This is also true for any retained items. The specified range is 0-indexed: the first row starts at index
      * 0 and the last row ends at height - 1. The range is inclusive on both ends, the row specified at either parameter
      * will also be excluded. When the range specified is invalid - that is, part of the range contains rows that are
-     * not included in this inventory component, and {@link IllegalArgumentException} will be thrown.
+     * not included in this inventory component, and {@link IllegalArgumentException} will be thrown. Which of the
+     * retained slots changed in the last frame is retained as well, see {@link #getChangedSlotCount()}.
      *
      * @param from the starting index of the range
      * @param end the ending index of the range
@@ -257,33 +594,27 @@ public class InventoryComponent {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent excludeRows(int from, int end) {
-        if (from < 0 || end >= getHeight()) {
-            throw new IllegalArgumentException("Specified range includes non-existent rows");
-        }
-        
+        checkRows(from, end);
+
         int newHeight = getHeight() - (end - from + 1);
 
         InventoryComponent newInventoryComponent = new InventoryComponent(getLength(), newHeight);
 
-        for (Pane pane : getPanes()) {
-            newInventoryComponent.addPane(pane);
-        }
+        newInventoryComponent.panes.addAll(getPanes());
 
-        for (int x = 0; x < getLength(); x++) {
-            int newY = 0;
+        int headLength = from * getLength();
+        int tailStart = (end + 1) * getLength();
+        int tailLength = items.length - tailStart;
 
-            for (int y = 0; y < getHeight(); y++) {
-                ItemStack item = getItem(x, y);
+        System.arraycopy(items, 0, newInventoryComponent.items, 0, headLength);
+        System.arraycopy(items, tailStart, newInventoryComponent.items, headLength, tailLength);
 
-                if (y >= from && y <= end) {
-                    continue;
-                }
+        System.arraycopy(changedSlots, 0, newInventoryComponent.changedSlots, 0, headLength);
+        System.arraycopy(changedSlots, tailStart, newInventoryComponent.changedSlots, headLength, tailLength);
 
-                if (item != null) {
-                    newInventoryComponent.setItem(item, x, newY);
-                }
-
-                newY++;
+        for (boolean changed : newInventoryComponent.changedSlots) {
+            if (changed) {
+                newInventoryComponent.changedSlotCount++;
             }
         }
 
@@ -320,11 +651,32 @@ public class InventoryComponent {
      */
     @Contract(pure = true)
     public boolean hasItem() {
-        for (int x = 0; x < getLength(); x++) {
-            for (int y = 0; y < getHeight(); y++) {
-                if (getItem(x, y) != null) {
-                    return true;
-                }
+        for (ItemStack item : items) {
+            if (item != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether the specified range of rows of this component has at least one item. If it does, true is returned;
+     * false otherwise. The range is 0-indexed and inclusive on both ends. When the range specified contains rows that
+     * are not included in this inventory component, an {@link IllegalArgumentException} will be thrown.
+     *
+     * @param from the first row to check
+     * @param end the last row to check
+     * @return true if the rows have an item, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public boolean hasItemInRows(int from, int end) {
+        checkRows(from, end);
+
+        for (int index = from * getLength(); index < (end + 1) * getLength(); index++) {
+            if (items[index] != null) {
+                return true;
             }
         }
 
@@ -334,21 +686,183 @@ public class InventoryComponent {
     /**
      * This will make each pane in this component render their items in this inventory component. The panes are
      * displayed according to their priority, with the lowest priority rendering first and the highest priority (note:
-     * highest priority, not {@link Pane.Priority#HIGHEST} priority) rendering last.
+     * highest priority, not {@link Pane.Priority#HIGHEST} priority) rendering last. Cacheable panes which haven't been
+     * modified since they were last displayed place the items they placed back then, without being displayed again;
+     * see {@link Pane#isCacheable()}. The rendered frame is compared
+     * against the previous frame, so {@link #placeChangedItems(Inventory, int)} only has to place the slots that
+     * changed.
      *
      * @since 0.8.0
      * @see #display(Inventory, int)
      */
     public void display() {
+        useDisplayTable(ViewState.getViewer());
         clearItems();
 
-        for (Pane pane : getPanes()) {
-            if (!pane.isVisible()) {
-                continue;
+        if (isPlanValid()) {
+            replayPlan();
+        } else {
+            for (Pane pane : getPanes()) {
+                if (!pane.isVisible()) {
+                    continue;
+                }
+
+                displayPane(pane);
             }
 
-            pane.display(this, 0, 0, getLength(), getHeight());
+            if (paneOutputs.size() > panes.size()) {
+                paneOutputs.keySet().removeIf(pane -> !panes.contains(pane));
+            }
+
+            compilePlan();
+        }
+
+        invalidated = false;
+
+        compareFrames(0, 0, getLength() - 1, getHeight() - 1);
+    }
+
+    /**
+     * Marks the specified rectangle of this inventory component as invalidated. The next call to
+     * {@link #displayInvalidated()} renders only the invalidated slots again. Invalidating multiple rectangles before
+     * displaying invalidates the smallest rectangle containing all of them. The parts of the rectangle which lie
+     * outside of this inventory component are ignored.
+     *
+     * @param x the x coordinate of the rectangle
+     * @param y the y coordinate of the rectangle
+     * @param length the length of the rectangle
+     * @param height the height of the rectangle
+     * @since 0.9.9
+     */
+    public void invalidate(int x, int y, int length, int height) {
+        int minX = Math.max(x, 0);
+        int minY = Math.max(y, 0);
+        int maxX = Math.min(x + length, getLength()) - 1;
+        int maxY = Math.min(y + height, getHeight()) - 1;
+
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+
+        if (!invalidated) {
+            invalidMinX = minX;
+            invalidMinY = minY;
+            invalidMaxX = maxX;
+            invalidMaxY = maxY;
+            invalidated = true;
+
+            return;
+        }
+
+        invalidMinX = Math.min(invalidMinX, minX);
+        invalidMinY = Math.min(invalidMinY, minY);
+        invalidMaxX = Math.max(invalidMaxX, maxX);
+        invalidMaxY = Math.max(invalidMaxY, maxY);
+    }
+
+    /**
+     * Renders only the region of this inventory component which has been invalidated via
+     * {@link #invalidate(int, int, int, int)}. Panes which do not overlap the invalidated region are skipped and items
+     * which panes place outside of the region are ignored, so the slots outside of the region keep their current items.
+     * Only the invalidated slots are compared against the previous frame. If no region has been invalidated, nothing is
+     * rendered and no slots are marked as changed.
+     *
+     * @since 0.9.9
+     * @see #display()
+     */
+    public void displayInvalidated() {
+        if (!invalidated) {
+            Arrays.fill(changedSlots, false);
+            changedSlotCount = 0;
+
+            return;
+        }
+
+        useDisplayTable(ViewState.getViewer());
+
+        for (int y = invalidMinY; y <= invalidMaxY; y++) {
+            Arrays.fill(items, y * getLength() + invalidMinX, y * getLength() + invalidMaxX + 1, null);
+            displayTable.clear(y * getLength() + invalidMinX, y * getLength() + invalidMaxX + 1);
         }
+
+        clipping = true;
+
+        try {
+            if (isPlanValid()) {
+                replayPlan();
+            } else {
+                for (Pane pane : getPanes()) {
+                    if (!pane.isVisible() || !overlapsInvalidatedRegion(pane)) {
+                        continue;
+                    }
+
+                    displayPane(pane);
+                }
+
+                compilePlan();
+            }
+        } finally {
+            clipping = false;
+        }
+
+        invalidated = false;
+
+        compareFrames(invalidMinX, invalidMinY, invalidMaxX, invalidMaxY);
+    }
+
+    /**
+     * Gets the amount of slots which changed between the previous frame and the current frame of this inventory
+     * component, as determined by the last call to {@link #display()}.
+     *
+     * @return the amount of changed slots
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public int getChangedSlotCount() {
+        return changedSlotCount;
+    }
+
+    /**
+     * Gets whether the specified slot changed between the previous frame and the current frame of this inventory
+     * component. Slots are counted in row-major order.
+     *
+     * @param slot the slot
+     * @return true if the slot changed, false otherwise or if the slot is out of bounds
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public boolean isSlotChanged(int slot) {
+        return slot >= 0 && slot < changedSlots.length && changedSlots[slot];
+    }
+
+    /**
+     * Gets the amount of slots in the specified range of rows which changed between the previous frame and the current
+     * frame of this inventory component. The range is 0-indexed and inclusive on both ends. When the range specified
+     * contains rows that are not included in this inventory component, an {@link IllegalArgumentException} will be
+     * thrown.
+     *
+     * @param from the first row
+     * @param end the last row
+     * @return the amount of changed slots in the rows
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public int getChangedSlotCount(int from, int end) {
+        checkRows(from, end);
+
+        if (from == 0 && end == getHeight() - 1) {
+            return changedSlotCount;
+        }
+
+        int count = 0;
+
+        for (int index = from * getLength(); index < (end + 1) * getLength(); index++) {
+            if (changedSlots[index]) {
+                count++;
+            }
+        }
+
+        return count;
     }
 
     /**
@@ -384,7 +898,28 @@ public class InventoryComponent {
                 "; should be below " + getLength() + " and " + getHeight());
         }
 
-        return this.items[x][y];
+        return this.items[y * getLength() + x];
+    }
+
+    /**
+     * Gets the item in the specified slot, or null if this slot is empty. Slots are counted in row-major order, so the
+     * slot of the cell at (x, y) is y * length + x. If the specified slot is not within this inventory component, an
+     * {@link IllegalArgumentException} will be thrown.
+     *
+     * @param slot the slot
+     * @return the item or null
+     * @since 0.9.9
+     * @throws IllegalArgumentException when the slot is out of bounds
+     */
+    @Nullable
+    @Contract(pure = true)
+    public ItemStack getItem(int slot) {
+        if (slot < 0 || slot >= items.length) {
+            throw new IllegalArgumentException("Slot must be in-bounds: slot = " + slot + "; should be below " +
+                items.length);
+        }
+
+        return this.items[slot];
     }
 
     /**
@@ -417,9 +952,88 @@ public class InventoryComponent {
                 "; should be below " + getLength() + " and " + getHeight());
         }
 
+        setItem(guiItem, y * getLength() + x, null);
+    }
+
+    /**
+     * Adds the specified item in the specified slot. This will override an already set item if it resides in the same
+     * slot. Slots are counted in row-major order, so the slot of the cell at (x, y) is y * length + x. Only the slot
+     * itself is checked, so callers are responsible for keeping their x coordinate within the length of this
+     * component. If the slot specified is outside of this component, an {@link IllegalArgumentException} will be
+     * thrown.
+     *
+     * @param guiItem the item to place in this inventory component
+     * @param slot the slot of the item
+     * @since 0.9.9
+     */
+    public void setItem(@NotNull GuiItem guiItem, int slot) {
+        setItem(guiItem, slot, null);
+    }
+
+    /**
+     * Adds the specified item in the specified slot, as per {@link #setItem(GuiItem, int)}, on behalf of the specified
+     * pane. The pane is remembered as the owner of the slot, so a click on the slot can be matched to the pane in
+     * constant time, see {@link #getDisplayedPane(int)}.
+     *
+     * @param guiItem the item to place in this inventory component
+     * @param slot the slot of the item
+     * @param pane the pane placing the item or null if the item isn't placed by a pane
+     * @since 0.9.9
+     */
+    public void setItem(@NotNull GuiItem guiItem, int slot, @Nullable Pane pane) {
+        if (slot < 0 || slot >= items.length) {
+            throw new IllegalArgumentException("Slot must be in-bounds: slot = " + slot + "; should be below " +
+                items.length);
+        }
+
+        if (clipping && !isInvalidated(slot % getLength(), slot / getLength())) {
+            //the UUID hasn't been applied, so it has to be applied once this output is replayed
+            if (recording != null) {
+                recording.add(slot, guiItem, pane, -1);
+            }
+
+            return;
+        }
+
         guiItem.applyUUID();
 
-        this.items[x][y] = guiItem.getItem();
+        if (recording != null) {
+            recording.add(slot, guiItem, pane, guiItem.getModificationCount());
+        }
+
+        this.items[slot] = guiItem.getSharedItem();
+        this.displayTable.items[slot] = guiItem;
+        this.displayTable.panes[slot] = pane;
+    }
+
+    /**
+     * Places a gui item again which was placed in the specified slot before, as recorded in a pane output or the
+     * compiled plan. If the modification count of the gui item still equals the recorded count, the item hasn't been
+     * changed through the gui item since its UUID was applied, so the UUID isn't applied again; this saves reading the
+     * meta of every replayed item. Otherwise the item is placed as per {@link #setItem(GuiItem, int, Pane)}. Items
+     * outside of the invalidated region are skipped while clipping, like they are by that method.
+     *
+     * @param guiItem the item to place
+     * @param slot the slot of the item
+     * @param pane the pane which placed the item
+     * @param modificationCount the recorded modification count of the gui item
+     * @return the modification count of the gui item after it was placed
+     * @since 0.9.9
+     */
+    private int replayItem(@NotNull GuiItem guiItem, int slot, @Nullable Pane pane, int modificationCount) {
+        if (clipping && !isInvalidated(slot % getLength(), slot / getLength())) {
+            return modificationCount;
+        }
+
+        if (guiItem.getModificationCount() != modificationCount) {
+            guiItem.applyUUID();
+        }
+
+        this.items[slot] = guiItem.getSharedItem();
+        this.displayTable.items[slot] = guiItem;
+        this.displayTable.panes[slot] = pane;
+
+        return guiItem.getModificationCount();
     }
 
     /**
@@ -441,7 +1055,17 @@ public class InventoryComponent {
                 "; should be below " + getLength() + " and " + getHeight());
         }
 
-        this.items[x][y] = item;
+        if (recording != null) {
+            recording.replayable = false;
+        }
+
+        if (clipping && !isInvalidated(x, y)) {
+            return;
+        }
+
+        this.items[y * getLength() + x] = item;
+        this.displayTable.items[y * getLength() + x] = null;
+        this.displayTable.panes[y * getLength() + x] = null;
     }
 
     /**
@@ -483,8 +1107,353 @@ public class InventoryComponent {
      * @since 0.9.2
      */
     private void clearItems() {
-        for (ItemStack[] items : this.items) {
-            Arrays.fill(items, null);
+        Arrays.fill(items, null);
+        displayTable.clear(0, items.length);
+    }
+
+    /**
+     * Compares the current frame against the previous frame within the specified rectangle and marks each slot which
+     * differs as changed. Slots outside of the rectangle are marked as unchanged. The current frame becomes the previous
+     * frame afterwards.
+     *
+     * @param minX the lowest x coordinate to compare
+     * @param minY the lowest y coordinate to compare
+     * @param maxX the highest x coordinate to compare
+     * @param maxY the highest y coordinate to compare
+     * @since 0.9.9
+     */
+    private void compareFrames(int minX, int minY, int maxX, int maxY) {
+        Arrays.fill(changedSlots, false);
+        changedSlotCount = 0;
+
+        for (int y = minY; y <= maxY; y++) {
+            for (int index = y * getLength() + minX; index <= y * getLength() + maxX; index++) {
+                ItemStack item = items[index];
+                GuiItem guiItem = displayTable.items[index];
+                int modificationCount = guiItem == null ? 0 : guiItem.getModificationCount();
+                boolean changed = isChanged(index, item, guiItem, modificationCount);
+
+                previousItems[index] = item;
+                previousGuiItems[index] = guiItem;
+                previousModificationCounts[index] = modificationCount;
+
+                if (!changed) {
+                    continue;
+                }
+
+                changedSlots[index] = true;
+                changedSlotCount++;
+            }
+        }
+    }
+
+    /**
+     * Displays the specified pane in this inventory component. If the pane is cacheable and its version and the
+     * visibility epoch of gui items are unchanged since its output was recorded, the recorded output is placed again
+     * instead. Otherwise the pane is displayed and its output is recorded.
+     *
+     * @param pane the pane to display
+     * @since 0.9.9
+     */
+    private void displayPane(@NotNull Pane pane) {
+        if (!pane.isCacheable()) {
+            pane.display(this, 0, 0, getLength(), getHeight());
+
+            return;
+        }
+
+        PaneOutput output = paneOutputs.get(pane);
+
+        if (output != null && output.version == pane.getVersion() &&
+            output.visibilityEpoch == GuiItem.getVisibilityEpoch()) {
+            for (int index = 0; index < output.size; index++) {
+                output.modificationCounts[index] = replayItem(output.items[index], output.slots[index],
+                    output.panes[index], output.modificationCounts[index]);
+            }
+
+            return;
+        }
+
+        if (output == null) {
+            output = new PaneOutput();
+
+            paneOutputs.put(pane, output);
+        }
+
+        output.reset();
+
+        recording = output;
+
+        try {
+            pane.display(this, 0, 0, getLength(), getHeight());
+        } finally {
+            recording = null;
+        }
+
+        if (!output.replayable) {
+            paneOutputs.remove(pane);
+
+            return;
+        }
+
+        output.version = pane.getVersion();
+        output.visibilityEpoch = GuiItem.getVisibilityEpoch();
+    }
+
+    /**
+     * Checks whether the compiled render plan can still be used. This is the case as long as the panes of this component
+     * are the same panes in the same order, none of them has been modified and the visibility of gui items hasn't
+     * changed since the plan was compiled.
+     *
+     * @return true if the plan is valid, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    private boolean isPlanValid() {
+        if (plan == null || planVisibilityEpoch != GuiItem.getVisibilityEpoch() || planPanes.length != panes.size()) {
+            return false;
+        }
+
+        for (int index = 0; index < planPanes.length; index++) {
+            Pane pane = panes.get(index);
+
+            if (pane != planPanes[index] || pane.getVersion() != planVersions[index]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Places the items of the compiled render plan in this inventory component, slot by slot.
+     *
+     * @since 0.9.9
+     */
+    private void replayPlan() {
+        for (int slot = 0; slot < plan.length; slot++) {
+            GuiItem guiItem = plan[slot];
+
+            if (guiItem != null) {
+                planModificationCounts[slot] = replayItem(guiItem, slot, planOwners[slot],
+                    planModificationCounts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Compiles the render plan of this component from the recorded output of its visible panes. Since the panes are
+     * flattened into a single gui item per slot, displaying the plan takes time linear in the amount of slots,
+     * regardless of how deeply the panes are nested. If any visible pane has no up-to-date recorded output, for example
+     * because it is not cacheable, no plan is compiled.
+     *
+     * @since 0.9.9
+     */
+    private void compilePlan() {
+        GuiItem[] plan = this.plan == null ? new GuiItem[getSize()] : this.plan;
+
+        Arrays.fill(plan, null);
+
+        if (planOwners.length != plan.length) {
+            planOwners = new Pane[plan.length];
+            planModificationCounts = new int[plan.length];
+        }
+
+        Arrays.fill(planOwners, null);
+
+        this.plan = null;
+
+        for (Pane pane : panes) {
+            if (!pane.isVisible()) {
+                continue;
+            }
+
+            PaneOutput output = paneOutputs.get(pane);
+
+            if (output == null || output.version != pane.getVersion() ||
+                output.visibilityEpoch != GuiItem.getVisibilityEpoch()) {
+                return;
+            }
+
+            for (int index = 0; index < output.size; index++) {
+                plan[output.slots[index]] = output.items[index];
+                planOwners[output.slots[index]] = output.panes[index];
+                planModificationCounts[output.slots[index]] = output.modificationCounts[index];
+            }
+        }
+
+        if (planPanes.length != panes.size()) {
+            planPanes = new Pane[panes.size()];
+            planVersions = new long[panes.size()];
+        }
+
+        for (int index = 0; index < planPanes.length; index++) {
+            Pane pane = panes.get(index);
+
+            planPanes[index] = pane;
+            planVersions[index] = pane.getVersion();
+        }
+
+        planVisibilityEpoch = GuiItem.getVisibilityEpoch();
+
+        this.plan = plan;
+    }
+
+    /**
+     * Gets the display table of the current {@link ViewState#getViewer() viewer}
+     *
+     * @return the display table or null if this inventory component hasn't been displayed for the current viewer
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    private DisplayTable getDisplayTable() {
+        HumanEntity viewer = ViewState.getViewer();
+
+        if (viewer == displayedViewer) {
+            return displayTable;
+        }
+
+        return viewerDisplayTables == null ? null : viewerDisplayTables.get(viewer);
+    }
+
+    /**
+     * Makes the display table of the specified viewer the one items are placed in. The current table is kept for its
+     * own viewer, so clicks of that viewer can still be resolved. Tables are swapped rather than copied.
+     *
+     * @param viewer the viewer or null for the shared state
+     * @since 0.9.9
+     */
+    private void useDisplayTable(@Nullable HumanEntity viewer) {
+        if (viewer == displayedViewer) {
+            return;
+        }
+
+        if (viewerDisplayTables == null) {
+            viewerDisplayTables = new WeakHashMap<>();
+        }
+
+        DisplayTable table = viewerDisplayTables.remove(viewer);
+
+        viewerDisplayTables.put(displayedViewer, displayTable);
+
+        displayTable = table == null ? new DisplayTable(getSize()) : table;
+        displayedViewer = viewer;
+    }
+
+    /**
+     * Checks whether the specified coordinates lie in the invalidated region of this inventory component.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if the coordinates are invalidated, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    private boolean isInvalidated(int x, int y) {
+        return invalidated && x >= invalidMinX && x <= invalidMaxX && y >= invalidMinY && y <= invalidMaxY;
+    }
+
+    /**
+     * Checks whether the area of the specified pane overlaps the invalidated region of this inventory component.
+     *
+     * @param pane the pane to check
+     * @return true if the pane overlaps the invalidated region, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    private boolean overlapsInvalidatedRegion(@NotNull Pane pane) {
+        return pane.getX() <= invalidMaxX && pane.getX() + pane.getLength() > invalidMinX &&
+            pane.getY() <= invalidMaxY && pane.getY() + pane.getHeight() > invalidMinY;
+    }
+
+
+    /**
+     * Checks whether the specified item, placed by the specified gui item, changed compared to the previous frame at
+     * the specified index. If the same item was placed again, it only changed if it may have been edited in place,
+     * which is the case when its gui item or the modification count of it differs, or when it wasn't placed by a gui
+     * item at all. An item which is referenced from outside of its gui item, because it was passed to the constructor
+     * or handed out via {@link GuiItem#getItem()}, may have been edited in place at any time, so it is always treated
+     * as changed. Different items are compared by their type and amount and lastly by their item meta.
+     *
+     * @param index the index of the slot
+     * @param item the item in the current frame
+     * @param guiItem the gui item which placed the item in the current frame
+     * @param modificationCount the modification count of the gui item
+     * @return true if the slot changed, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    private boolean isChanged(int index, @Nullable ItemStack item, @Nullable GuiItem guiItem, int modificationCount) {
+        ItemStack previousItem = previousItems[index];
+
+        if (item == previousItem) {
+            return item != null && (guiItem == null || guiItem.isExposed() || guiItem != previousGuiItems[index] ||
+                modificationCount != previousModificationCounts[index]);
+        }
+
+        if (item == null || previousItem == null) {
+            return true;
+        }
+
+        return item.getType() != previousItem.getType() || item.getAmount() != previousItem.getAmount() ||
+            !item.isSimilar(previousItem);
+    }
+
+    /**
+     * Gets the items in the specified range of rows of this inventory component, ordered like the storage contents of a
+     * player inventory: the last row of the range comes first, as it is placed in the hotbar, followed by the other
+     * rows from top to bottom. The range is 0-indexed and inclusive on both ends, and should cover exactly the storage
+     * contents of a player inventory.
+     *
+     * @param from the first row
+     * @param end the last row
+     * @return the storage contents
+     * @since 0.9.9
+     */
+    @NotNull
+    @Contract(pure = true)
+    ItemStack @NotNull [] getPlayerStorageContents(int from, int end) {
+        int start = from * getLength();
+        int size = (end + 1) * getLength() - start;
+        int lastRow = size - getLength();
+
+        ItemStack[] contents = new ItemStack[PLAYER_STORAGE_SIZE];
+
+        for (int index = 0; index < size; index++) {
+            contents[toPlayerInventorySlot(index, lastRow)] = items[start + index];
+        }
+
+        return contents;
+    }
+
+    /**
+     * Converts the specified index within a range of rows to a slot of a player inventory, not taking any offset into
+     * account. The last row of the range is mapped to the hotbar, while the other rows are mapped to the main
+     * inventory.
+     *
+     * @param index the index relative to the first slot of the range
+     * @param lastRow the index of the first slot in the last row of the range, relative to the first slot of the range
+     * @return the player inventory slot
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    private int toPlayerInventorySlot(int index, int lastRow) {
+        return index >= lastRow ? index - lastRow : index + getLength();
+    }
+
+    /**
+     * Checks whether the specified range of rows is part of this inventory component. The range is 0-indexed and
+     * inclusive on both ends. If the range contains rows outside of this component, an
+     * {@link IllegalArgumentException} will be thrown.
+     *
+     * @param from the first row
+     * @param end the last row
+     * @since 0.9.9
+     */
+    private void checkRows(int from, int end) {
+        if (from < 0 || end >= getHeight()) {
+            throw new IllegalArgumentException("Specified range includes non-existent rows");
         }
     }
 
@@ -535,4 +1504,131 @@ public class InventoryComponent {
     private boolean isInBounds(int lowerBound, int upperBound, int value) {
         return lowerBound <= value && value <= upperBound;
     }
+
+    /**
+     * The gui items which placed the items of an inventory component as displayed for a single viewer, and the panes
+     * which placed them, indexed by slot. Slots that are empty or whose item wasn't placed by a gui item are null.
+     *
+     * @since 0.9.9
+     */
+    private static final class DisplayTable {
+
+        /**
+         * The gui items which placed the items, indexed by slot
+         */
+        @NotNull
+        private final GuiItem[] items;
+
+        /**
+         * The panes which placed the items, indexed by slot
+         */
+        @NotNull
+        private final Pane[] panes;
+
+        DisplayTable(int size) {
+            this.items = new GuiItem[size];
+            this.panes = new Pane[size];
+        }
+
+        /**
+         * Clears the slots in the specified range, inclusive at the start and exclusive at the end
+         *
+         * @param from the first slot to clear
+         * @param to the slot after the last slot to clear
+         * @since 0.9.9
+         */
+        private void clear(int from, int to) {
+            Arrays.fill(items, from, to, null);
+            Arrays.fill(panes, from, to, null);
+        }
+    }
+
+    /**
+     * The recorded output of a pane: the items it placed, in the order it placed them, and the slots it placed them in.
+     *
+     * @since 0.9.9
+     */
+    private static final class PaneOutput {
+
+        /**
+         * The slots in which items were placed
+         */
+        private int[] slots = new int[16];
+
+        /**
+         * The items which were placed, at the same index as their slot in {@link #slots}
+         */
+        @NotNull
+        private GuiItem[] items = new GuiItem[16];
+
+        /**
+         * The panes which placed the items, at the same index as their item in {@link #items}
+         */
+        @NotNull
+        private Pane[] panes = new Pane[16];
+
+        /**
+         * The modification counts of the items after their UUID was applied, at the same index as their item in
+         * {@link #items}, or -1 if the UUID wasn't applied
+         */
+        private int[] modificationCounts = new int[16];
+
+        /**
+         * The amount of items which were placed
+         */
+        private int size;
+
+        /**
+         * The version of the pane at the time its output was recorded, or zero if the output is incomplete
+         */
+        private long version;
+
+        /**
+         * The visibility epoch of gui items at the time the output was recorded
+         */
+        private long visibilityEpoch;
+
+        /**
+         * Whether the output can be replayed, which is not the case if the pane placed plain item stacks
+         */
+        private boolean replayable;
+
+        /**
+         * Adds an item which was placed in the specified slot to this output.
+         *
+         * @param slot the slot the item was placed in
+         * @param item the item that was placed
+         * @param pane the pane which placed the item
+         * @param modificationCount the modification count of the item after its UUID was applied, or -1 if it wasn't
+         * @since 0.9.9
+         */
+        private void add(int slot, @NotNull GuiItem item, @Nullable Pane pane, int modificationCount) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                items = Arrays.copyOf(items, size * 2);
+                panes = Arrays.copyOf(panes, size * 2);
+                modificationCounts = Arrays.copyOf(modificationCounts, size * 2);
+            }
+
+            slots[size] = slot;
+            items[size] = item;
+            panes[size] = pane;
+            modificationCounts[size] = modificationCount;
+            size++;
+        }
+
+        /**
+         * Discards the recorded output, so a new output can be recorded.
+         *
+         * @since 0.9.9
+         */
+        private void reset() {
+            Arrays.fill(items, 0, size, null);
+            Arrays.fill(panes, 0, size, null);
+
+            size = 0;
+            version = 0;
+            replayable = true;
+        }
+    }
 }
@@ -2,15 +2,32 @@ package plugily.projects.inventoryframework.gui.listener;
 
 import plugily.projects.inventoryframework.gui.type.util.Gui;
 import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
 public abstract class AbstractGuiListener implements Listener {
+
+    /**
+     * The types of inventories which are opened through a container of our own, instead of the inventory created by the
+     * gui. These inventories are only added to the registry once they have been opened, so while they are being opened
+     * their holder is asked for the gui instead. Asking inventories of any other type for their holder may create a
+     * snapshot of the block they belong to, so it is never done.
+     */
+    @NotNull
+    private static final Set<InventoryType> HOLDER_TYPES = EnumSet.noneOf(InventoryType.class);
+
     /**
-     * Gets the gui from the inventory or null if the inventory isn't a gui
+     * Gets the gui from the inventory or null if the inventory isn't a gui. The inventory is only looked up in the
+     * registry of {@link Gui}, so this never asks the inventory for its holder.
      *
      * @param inventory the inventory to get the gui from
      * @return the gui or null if the inventory doesn't have a gui
@@ -19,9 +36,25 @@ public abstract class AbstractGuiListener implements Listener {
     @Nullable
     @Contract(pure = true)
     protected final Gui getGui(@NotNull Inventory inventory) {
-        Gui gui = Gui.getGui(inventory);
+        return Gui.getGui(inventory);
+    }
 
-        if (gui != null) {
+    /**
+     * Gets the gui from the inventory which is being opened or null if the inventory isn't a gui. Like
+     * {@link #getGui(Inventory)}, but if the registry misses, the holder of the inventory is checked for the types of
+     * inventories which are opened through a container of our own, since these are only added to the registry after
+     * they have been opened. This happens once per opening, never for clicks.
+     *
+     * @param inventory the inventory being opened
+     * @return the gui or null if the inventory doesn't have a gui
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    protected final Gui getOpeningGui(@NotNull Inventory inventory) {
+        Gui gui = getGui(inventory);
+
+        if (gui != null || !HOLDER_TYPES.contains(inventory.getType())) {
             return gui;
         }
 
@@ -33,4 +66,17 @@ public abstract class AbstractGuiListener implements Listener {
 
         return null;
     }
+
+    static {
+        Set<String> names = new HashSet<>(Arrays.asList(
+            "ANVIL", "BEACON", "CARTOGRAPHY", "ENCHANTING", "GRINDSTONE", "SMITHING", "STONECUTTER"
+        ));
+
+        //not every type exists on every version
+        for (InventoryType type : InventoryType.values()) {
+            if (names.contains(type.name())) {
+                HOLDER_TYPES.add(type);
+            }
+        }
+    }
 }
@@ -2,6 +2,7 @@ package plugily.projects.inventoryframework.gui.listener;
 
 import plugily.projects.inventoryframework.gui.type.*;
 import plugily.projects.inventoryframework.gui.type.util.Gui;
+import plugily.projects.inventoryframework.pane.util.ViewState;
 import plugily.projects.inventoryframework.util.version.Version;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -10,12 +11,13 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.inventory.*;
 import org.bukkit.event.server.PluginDisableEvent;
-import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import plugily.projects.inventoryframework.gui.type.AnvilGui;
 import plugily.projects.inventoryframework.gui.type.BeaconGui;
 import plugily.projects.inventoryframework.gui.type.CartographyTableGui;
@@ -25,8 +27,12 @@ import plugily.projects.inventoryframework.gui.type.SmithingTableGui;
 import plugily.projects.inventoryframework.gui.type.StonecutterGui;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Listens to events for {@link Gui}s. Only one instance of this class gets constructed.
@@ -42,6 +48,34 @@ public class GuiListener extends AbstractGuiListener {
     @NotNull
     private final Set<Gui> activeGuiInstances = new HashSet<>();
 
+    /**
+     * The last click event whose gui was resolved by {@link #onInventoryClick(InventoryClickEvent)}, together with that
+     * gui, so {@link #resetItems(InventoryClickEvent)} doesn't have to resolve it again
+     */
+    @Nullable
+    private InventoryClickEvent resolvedEvent;
+
+    /**
+     * The gui belonging to {@link #resolvedEvent} or null if the clicked inventory isn't a gui
+     */
+    @Nullable
+    private Gui resolvedGui;
+
+    /**
+     * The handlers which reset the items of gui types whose items are moved around by the server, keyed by gui type
+     */
+    @NotNull
+    private static final Map<Class<? extends Gui>, BiConsumer<Gui, InventoryClickEvent>> POST_CLICK_HANDLERS =
+        new HashMap<>();
+
+    /**
+     * The post click handler of every gui class that has been clicked so far, see
+     * {@link #getPostClickHandler(Class)}
+     */
+    @NotNull
+    private static final Map<Class<?>, Optional<BiConsumer<Gui, InventoryClickEvent>>> RESOLVED_POST_CLICK_HANDLERS =
+        new HashMap<>();
+
     /**
      * Handles clicks in inventories
      *
@@ -52,6 +86,9 @@ public class GuiListener extends AbstractGuiListener {
     public void onInventoryClick(@NotNull InventoryClickEvent event) {
         Gui gui = getGui(event.getInventory());
 
+        resolvedEvent = event;
+        resolvedGui = gui;
+
         if (gui == null) {
             return;
         }
@@ -64,133 +101,85 @@ public class GuiListener extends AbstractGuiListener {
         int rawSlot = event.getRawSlot();
         int eventSlot = event.getSlot();
 
-        gui.callOnGlobalClick(event);
-        if (rawSlot == eventSlot) {
-            gui.callOnTopClick(event);
-        } else {
-            gui.callOnBottomClick(event);
-        }
+        HumanEntity previousViewer = ViewState.setViewer(gui.getStateViewer(event.getWhoClicked()));
 
-        gui.click(event);
-    }
+        try {
+            gui.callOnGlobalClick(event);
+            if (rawSlot == eventSlot) {
+                gui.callOnTopClick(event);
+            } else {
+                gui.callOnBottomClick(event);
+            }
 
-    /**
-     * Resets the items into the correct positions for anvil guis
-     *
-     * @param event the event fired
-     * @since 0.8.0
-     */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void resetItemsAnvil(@NotNull InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
+            if (gui.clickOverlay(event)) {
+                return;
+            }
 
-        if (!(holder instanceof AnvilGui) || !(event.getWhoClicked() instanceof Player)) {
-            return;
+            gui.click(event);
+        } finally {
+            ViewState.setViewer(previousViewer);
         }
-
-        ((AnvilGui) holder).handleClickEvent(event);
     }
 
     /**
-     * Resets the items into the correct positions for beacon guis
+     * Resets the items into the correct positions for gui types whose items are moved around by the server, like
+     * anvils and beacons. If the click has not been cancelled, the inventories of the gui are
+     * {@link Gui#markInventoriesChanged() marked as changed}, so the next update places all of their slots again. The
+     * gui is resolved once and the type specific handling is looked up in {@link #POST_CLICK_HANDLERS}, so clicks in
+     * other inventories only cost a single lookup.
      *
      * @param event the event fired
-     * @since 0.8.0
+     * @since 0.9.9
      */
     @EventHandler(priority = EventPriority.HIGHEST)
-    public void resetItemsBeacon(@NotNull InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
+    public void resetItems(@NotNull InventoryClickEvent event) {
+        Gui gui = event == resolvedEvent ? resolvedGui : getGui(event.getInventory());
 
-        if (!(holder instanceof BeaconGui) || !(event.getWhoClicked() instanceof Player)) {
-            return;
-        }
-
-        ((BeaconGui) holder).handleClickEvent(event);
-    }
-
-    /**
-     * Resets the items into the correct positions for cartography table guis
-     *
-     * @param event the event fired
-     * @since 0.8.0
-     */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void resetItemsCartographyTable(@NotNull InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
+        resolvedEvent = null;
+        resolvedGui = null;
 
-        if (!(holder instanceof CartographyTableGui) || !(event.getWhoClicked() instanceof Player)) {
+        if (gui == null) {
             return;
         }
 
-        ((CartographyTableGui) holder).handleClickEvent(event);
-    }
-
-    /**
-     * Resets the items into the correct positions for enchanting table guis
-     *
-     * @param event the event fired
-     * @since 0.8.0
-     */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void resetItemsEnchantingTable(@NotNull InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
-
-        if (!(holder instanceof EnchantingTableGui) || !(event.getWhoClicked() instanceof Player)) {
-            return;
+        if (!event.isCancelled()) {
+            gui.markInventoriesChanged();
         }
 
-        ((EnchantingTableGui) holder).handleClickEvent(event);
-    }
-
-    /**
-     * Resets the items into the correct positions for grindstone guis
-     *
-     * @param event the event fired
-     * @since 0.8.0
-     */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void resetItemsGrindstone(@NotNull InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
-
-        if (!(holder instanceof GrindstoneGui) || !(event.getWhoClicked() instanceof Player)) {
+        if (!(event.getWhoClicked() instanceof Player)) {
             return;
         }
 
-        ((GrindstoneGui) holder).handleClickEvent(event);
-    }
+        BiConsumer<Gui, InventoryClickEvent> handler = getPostClickHandler(gui.getClass());
 
-    /**
-     * Resets the items into the correct positions for stonecutter guis
-     *
-     * @param event the event fired
-     * @since 0.8.0
-     */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void resetItemsStonecutter(@NotNull InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
-
-        if (!(holder instanceof StonecutterGui) || !(event.getWhoClicked() instanceof Player)) {
-            return;
+        if (handler != null) {
+            handler.accept(gui, event);
         }
-
-        ((StonecutterGui) holder).handleClickEvent(event);
     }
 
     /**
-     * Resets the items into the correct positions for smithing table guis
+     * Gets the post click handler for the specified gui class. Subclasses of the gui types in
+     * {@link #POST_CLICK_HANDLERS} use the handler of their closest registered superclass. The result is cached per
+     * class.
      *
-     * @param event the event fired
-     * @since 0.8.0
+     * @param guiClass the class of the gui
+     * @return the handler or null if the gui class has no post click handler
+     * @since 0.9.9
      */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void resetItemsSmithingTable(@NotNull InventoryClickEvent event) {
-        InventoryHolder holder = event.getInventory().getHolder();
-
-        if (!(holder instanceof SmithingTableGui) || !(event.getWhoClicked() instanceof Player)) {
-            return;
-        }
+    @Nullable
+    @Contract(pure = true)
+    private static BiConsumer<Gui, InventoryClickEvent> getPostClickHandler(@NotNull Class<?> guiClass) {
+        return RESOLVED_POST_CLICK_HANDLERS.computeIfAbsent(guiClass, key -> {
+            for (Class<?> type = key; type != null; type = type.getSuperclass()) {
+                BiConsumer<Gui, InventoryClickEvent> handler = POST_CLICK_HANDLERS.get(type);
+
+                if (handler != null) {
+                    return Optional.of(handler);
+                }
+            }
 
-        ((SmithingTableGui) holder).handleClickEvent(event);
+            return Optional.empty();
+        }).orElse(null);
     }
 
     /**
@@ -241,6 +230,22 @@ public class GuiListener extends AbstractGuiListener {
         }
     }
 
+    /**
+     * Marks the inventories of the gui as changed once a drag in it has not been cancelled, since the server then moves
+     * the dragged items into the inventories
+     *
+     * @param event the event fired
+     * @since 0.9.9
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void markDragged(@NotNull InventoryDragEvent event) {
+        Gui gui = getGui(event.getInventory());
+
+        if (gui != null) {
+            gui.markInventoriesChanged();
+        }
+    }
+
     /**
      * Handles closing in inventories
      *
@@ -272,6 +277,10 @@ public class GuiListener extends AbstractGuiListener {
         } else {
             gui.callOnClose(event);
 
+            if (gui.getViewerCount() == 1) {
+                activeGuiInstances.remove(gui);
+            }
+
             //this is a hack to remove items correctly when players press the x button in a beacon
             Bukkit.getScheduler().runTask(JavaPlugin.getProvidingPlugin(getClass()), () -> {
                 if (humanEntity.getOpenInventory().getTopInventory() instanceof PlayerInventory) {
@@ -289,7 +298,7 @@ public class GuiListener extends AbstractGuiListener {
      */
     @EventHandler(ignoreCancelled = true)
     public void onInventoryOpen(@NotNull InventoryOpenEvent event) {
-        Gui gui = getGui(event.getInventory());
+        Gui gui = getOpeningGui(event.getInventory());
 
         if (gui == null) {
             return;
@@ -326,4 +335,17 @@ public class GuiListener extends AbstractGuiListener {
                 + "(tried: " + maxCount + " times)");
         }
     }
+
+    static {
+        POST_CLICK_HANDLERS.put(AnvilGui.class, (gui, event) -> ((AnvilGui) gui).handleClickEvent(event));
+        POST_CLICK_HANDLERS.put(BeaconGui.class, (gui, event) -> ((BeaconGui) gui).handleClickEvent(event));
+        POST_CLICK_HANDLERS.put(CartographyTableGui.class,
+            (gui, event) -> ((CartographyTableGui) gui).handleClickEvent(event));
+        POST_CLICK_HANDLERS.put(EnchantingTableGui.class,
+            (gui, event) -> ((EnchantingTableGui) gui).handleClickEvent(event));
+        POST_CLICK_HANDLERS.put(GrindstoneGui.class, (gui, event) -> ((GrindstoneGui) gui).handleClickEvent(event));
+        POST_CLICK_HANDLERS.put(StonecutterGui.class, (gui, event) -> ((StonecutterGui) gui).handleClickEvent(event));
+        POST_CLICK_HANDLERS.put(SmithingTableGui.class,
+            (gui, event) -> ((SmithingTableGui) gui).handleClickEvent(event));
+    }
 }
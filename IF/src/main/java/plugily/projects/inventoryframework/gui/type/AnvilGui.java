@@ -4,6 +4,7 @@ import plugily.projects.inventoryframework.abstraction.AnvilInventory;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import plugily.projects.inventoryframework.util.version.VersionMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -34,28 +35,21 @@ import java.io.InputStream;
 public class AnvilGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the first item
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent firstItemComponent = new InventoryComponent(1, 1);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("first-item", 0, 1, 1),
+        new SlotLayout.Region("second-item", 1, 1, 1),
+        new SlotLayout.Region("result", 2, 1, 1)
+    );
 
     /**
-     * Represents the inventory component for the second item
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent secondItemComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the result
-     */
-    @NotNull
-    private InventoryComponent resultComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the player inventory
-     */
-    @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * An internal anvil inventory
@@ -79,25 +73,35 @@ public class AnvilGui extends NamedGui {
             throw new IllegalArgumentException("Anvils can only be opened by players");
         }
 
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
+
+            LAYOUT.display(this, getInventory(), components);
+        }
 
         getHumanEntityCache().store(humanEntity);
 
-        getFirstItemComponent().display(getInventory(), 0);
-        getSecondItemComponent().display(getInventory(), 1);
-        getResultComponent().display(getInventory(), 2);
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
 
-        getPlayerInventoryComponent().display();
+        anvilInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        addOpenInventory(humanEntity);
+    }
+
+    @Override
+    public void refresh() {
+        int changedSlots = LAYOUT.refreshTop(this, components);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        if (changedSlots > 0) {
+            ItemStack[] topItems = getTopItems();
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
+            for (HumanEntity viewer : getViewers()) {
+                if (viewer instanceof Player) {
+                    anvilInventory.sendItems((Player) viewer, topItems);
+                }
+            }
         }
 
-        anvilInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -106,10 +110,7 @@ public class AnvilGui extends NamedGui {
     public AnvilGui copy() {
         AnvilGui gui = new AnvilGui(getTitle());
 
-        gui.firstItemComponent = firstItemComponent.copy();
-        gui.secondItemComponent = secondItemComponent.copy();
-        gui.resultComponent = resultComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -122,24 +123,18 @@ public class AnvilGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot == 0) {
-            getFirstItemComponent().click(this, event, 0);
-        } else if (rawSlot == 1) {
-            getSecondItemComponent().click(this, event, 0);
-        } else if (rawSlot == 2) {
-            getResultComponent().click(this, event, 0);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 3);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.ANVIL, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.ANVIL, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -158,7 +153,7 @@ public class AnvilGui extends NamedGui {
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     /**
@@ -205,7 +200,7 @@ public class AnvilGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getFirstItemComponent() {
-        return firstItemComponent;
+        return components[0];
     }
 
     /**
@@ -217,7 +212,7 @@ public class AnvilGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getSecondItemComponent() {
-        return secondItemComponent;
+        return components[1];
     }
 
     /**
@@ -229,7 +224,7 @@ public class AnvilGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getResultComponent() {
-        return resultComponent;
+        return components[2];
     }
 
     /**
@@ -241,7 +236,7 @@ public class AnvilGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[3];
     }
 
     /**
@@ -324,23 +319,11 @@ public class AnvilGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "first-item":
-                    component = anvilGui.getFirstItemComponent();
-                    break;
-                case "second-item":
-                    component = anvilGui.getSecondItemComponent();
-                    break;
-                case "result":
-                    component = anvilGui.getResultComponent();
-                    break;
-                case "player-inventory":
-                    component = anvilGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(anvilGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
@@ -53,29 +53,38 @@ public class BarrelGui extends NamedGui implements MergedGui {
 
     @Override
     public void show(@NotNull HumanEntity humanEntity) {
-        getInventory().clear();
+        int height = getInventoryComponent().getHeight();
 
-        getHumanEntityCache().store(humanEntity);
+        if (!isBatchRendered()) {
+            getInventory().clear();
 
-        int height = getInventoryComponent().getHeight();
+            getInventoryComponent().display();
 
-        getInventoryComponent().display();
+            getInventoryComponent().placeItems(getInventory(), 0, 0, height - 5);
 
-        InventoryComponent topComponent = getInventoryComponent().excludeRows(height - 4, height - 1);
-        InventoryComponent bottomComponent = getInventoryComponent().excludeRows(0, height - 5);
+            refreshOpenPlayerInventories(getInventoryComponent(), height - 4, height - 1);
+        }
 
-        topComponent.placeItems(getInventory(), 0);
-        bottomComponent.placeItems(humanEntity.getInventory(), 0);
+        getHumanEntityCache().store(humanEntity);
 
-        if (bottomComponent.hasItem()) {
+        if (getInventoryComponent().hasItemInRows(height - 4, height - 1)) {
             humanEntity.getInventory().clear();
 
-            bottomComponent.placeItems(humanEntity.getInventory(), 0);
+            getInventoryComponent().placeItems(humanEntity.getInventory(), 0, height - 4, height - 1);
         } else {
             getHumanEntityCache().clearCache(humanEntity);
         }
 
-        humanEntity.openInventory(getInventory());
+        openInventory(humanEntity);
+    }
+
+    @Override
+    public void refresh() {
+        int height = getInventoryComponent().getHeight();
+
+        refreshComponent(getInventoryComponent(), 0, 0, height - 5);
+
+        refreshPlayerInventories(getInventoryComponent(), height - 4, height - 1);
     }
 
     @NotNull
@@ -103,7 +112,9 @@ public class BarrelGui extends NamedGui implements MergedGui {
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getInventoryComponent().excludeRows(0, getInventoryComponent().getHeight() - 5).hasItem();
+        int height = getInventoryComponent().getHeight();
+
+        return getInventoryComponent().hasItemInRows(height - 4, height - 1);
     }
 
     @Override
@@ -129,7 +140,11 @@ public class BarrelGui extends NamedGui implements MergedGui {
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.BARREL, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.BARREL, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     @NotNull
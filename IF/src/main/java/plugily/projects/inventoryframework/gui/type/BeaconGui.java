@@ -4,6 +4,7 @@ import plugily.projects.inventoryframework.abstraction.BeaconInventory;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.Gui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import plugily.projects.inventoryframework.util.version.VersionMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -11,6 +12,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,16 +35,19 @@ import java.io.InputStream;
 public class BeaconGui extends Gui {
 
     /**
-     * Represents the payment item inventory component
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent paymentItemComponent = new InventoryComponent(1, 1);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("payment-item", 0, 1, 1)
+    );
 
     /**
-     * Represents the player inventory component
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * An internal beacon inventory
@@ -56,12 +61,13 @@ public class BeaconGui extends Gui {
             throw new IllegalArgumentException("Beacons can only be opened by players");
         }
 
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
 
-        getHumanEntityCache().storeAndClear(humanEntity);
+            LAYOUT.display(this, getInventory(), components);
+        }
 
-        getPaymentItemComponent().display(getInventory(), 0);
-        getPlayerInventoryComponent().display();
+        getHumanEntityCache().storeAndClear(humanEntity);
 
         if (getPlayerInventoryComponent().hasItem()) {
             humanEntity.getInventory().clear();
@@ -72,6 +78,24 @@ public class BeaconGui extends Gui {
         }
 
         beaconInventory.openInventory((Player) humanEntity, getPaymentItemComponent().getItem(0, 0));
+        addOpenInventory(humanEntity);
+    }
+
+    @Override
+    public void refresh() {
+        int changedSlots = LAYOUT.refreshTop(this, components);
+
+        if (changedSlots > 0) {
+            ItemStack paymentItem = getPaymentItemComponent().getItem(0, 0);
+
+            for (HumanEntity viewer : getViewers()) {
+                if (viewer instanceof Player) {
+                    beaconInventory.sendItem((Player) viewer, paymentItem);
+                }
+            }
+        }
+
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -80,8 +104,7 @@ public class BeaconGui extends Gui {
     public BeaconGui copy() {
         BeaconGui gui = new BeaconGui();
 
-        gui.paymentItemComponent = paymentItemComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -94,26 +117,24 @@ public class BeaconGui extends Gui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot == 0) {
-            getPaymentItemComponent().click(this, event, 0);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 1);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory() {
-        return Bukkit.createInventory(this, InventoryType.BEACON);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.BEACON);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -144,7 +165,7 @@ public class BeaconGui extends Gui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPaymentItemComponent() {
-        return paymentItemComponent;
+        return components[0];
     }
 
     /**
@@ -156,7 +177,7 @@ public class BeaconGui extends Gui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[1];
     }
 
     /**
@@ -223,17 +244,11 @@ public class BeaconGui extends Gui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "payment-item":
-                    component = beaconGui.getPaymentItemComponent();
-                    break;
-                case "player-inventory":
-                    component = beaconGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(beaconGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
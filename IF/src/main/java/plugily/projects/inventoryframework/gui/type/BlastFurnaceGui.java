@@ -3,6 +3,7 @@ package plugily.projects.inventoryframework.gui.type;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -30,28 +31,21 @@ import java.io.InputStream;
 public class BlastFurnaceGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the ingredient
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent ingredientComponent = new InventoryComponent(1, 1);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("ingredient", 0, 1, 1),
+        new SlotLayout.Region("fuel", 1, 1, 1),
+        new SlotLayout.Region("output", 2, 1, 1)
+    );
 
     /**
-     * Represents the inventory component for the fuel
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent fuelComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the output
-     */
-    @NotNull
-    private InventoryComponent outputComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the player inventory
-     */
-    @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * Constructs a new GUI
@@ -65,24 +59,23 @@ public class BlastFurnaceGui extends NamedGui {
 
     @Override
     public void show(@NotNull HumanEntity humanEntity) {
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
 
-        getHumanEntityCache().store(humanEntity);
+            LAYOUT.display(this, getInventory(), components);
+        }
 
-        getIngredientComponent().display(getInventory(), 0);
-        getFuelComponent().display(getInventory(), 1);
-        getOutputComponent().display(getInventory(), 2);
-        getPlayerInventoryComponent().display();
+        getHumanEntityCache().store(humanEntity);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
-        }
+        openInventory(humanEntity);
+    }
 
-        humanEntity.openInventory(getInventory());
+    @Override
+    public void refresh() {
+        LAYOUT.refreshTop(this, components);
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -91,10 +84,7 @@ public class BlastFurnaceGui extends NamedGui {
     public BlastFurnaceGui copy() {
         BlastFurnaceGui gui = new BlastFurnaceGui(getTitle());
 
-        gui.ingredientComponent = ingredientComponent.copy();
-        gui.fuelComponent = fuelComponent.copy();
-        gui.outputComponent = outputComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -107,30 +97,24 @@ public class BlastFurnaceGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot == 0) {
-            getIngredientComponent().click(this, event, 0);
-        } else if (rawSlot == 1) {
-            getFuelComponent().click(this, event, 0);
-        } else if (rawSlot == 2) {
-            getOutputComponent().click(this, event, 0);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 3);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.BLAST_FURNACE, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.BLAST_FURNACE, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -142,7 +126,7 @@ public class BlastFurnaceGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getIngredientComponent() {
-        return ingredientComponent;
+        return components[0];
     }
 
     /**
@@ -154,7 +138,7 @@ public class BlastFurnaceGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getFuelComponent() {
-        return fuelComponent;
+        return components[1];
     }
 
     /**
@@ -166,7 +150,7 @@ public class BlastFurnaceGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getOutputComponent() {
-        return outputComponent;
+        return components[2];
     }
 
     /**
@@ -178,7 +162,7 @@ public class BlastFurnaceGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[3];
     }
 
     /**
@@ -245,23 +229,11 @@ public class BlastFurnaceGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "ingredient":
-                    component = blastFurnaceGui.getIngredientComponent();
-                    break;
-                case "fuel":
-                    component = blastFurnaceGui.getFuelComponent();
-                    break;
-                case "output":
-                    component = blastFurnaceGui.getOutputComponent();
-                    break;
-                case "player-inventory":
-                    component = blastFurnaceGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(blastFurnaceGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
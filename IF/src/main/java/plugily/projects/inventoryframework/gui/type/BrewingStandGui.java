@@ -3,6 +3,7 @@ package plugily.projects.inventoryframework.gui.type;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -30,40 +31,23 @@ import java.io.InputStream;
 public class BrewingStandGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the first bottle
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent firstBottleComponent = new InventoryComponent(1, 1);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("first-bottle", 0, 1, 1),
+        new SlotLayout.Region("second-bottle", 1, 1, 1),
+        new SlotLayout.Region("third-bottle", 2, 1, 1),
+        new SlotLayout.Region("potion-ingredient", 3, 1, 1),
+        new SlotLayout.Region("blaze-powder", 4, 1, 1)
+    );
 
     /**
-     * Represents the inventory component for the second bottle
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent secondBottleComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the third bottle
-     */
-    @NotNull
-    private InventoryComponent thirdBottleComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the potion ingredient
-     */
-    @NotNull
-    private InventoryComponent potionIngredientComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the blaze powder
-     */
-    @NotNull
-    private InventoryComponent blazePowderComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the player inventory
-     */
-    @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * Constructs a new GUI
@@ -77,26 +61,23 @@ public class BrewingStandGui extends NamedGui {
 
     @Override
     public void show(@NotNull HumanEntity humanEntity) {
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
 
-        getHumanEntityCache().store(humanEntity);
+            LAYOUT.display(this, getInventory(), components);
+        }
 
-        getFirstBottleComponent().display(getInventory(), 0);
-        getSecondBottleComponent().display(getInventory(), 1);
-        getThirdBottleComponent().display(getInventory(), 2);
-        getPotionIngredientComponent().display(getInventory(), 3);
-        getBlazePowderComponent().display(getInventory(), 4);
-        getPlayerInventoryComponent().display();
+        getHumanEntityCache().store(humanEntity);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
-        }
+        openInventory(humanEntity);
+    }
 
-        humanEntity.openInventory(getInventory());
+    @Override
+    public void refresh() {
+        LAYOUT.refreshTop(this, components);
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -105,12 +86,7 @@ public class BrewingStandGui extends NamedGui {
     public BrewingStandGui copy() {
         BrewingStandGui gui = new BrewingStandGui(getTitle());
 
-        gui.firstBottleComponent = firstBottleComponent.copy();
-        gui.secondBottleComponent = secondBottleComponent.copy();
-        gui.thirdBottleComponent = thirdBottleComponent.copy();
-        gui.potionIngredientComponent = potionIngredientComponent.copy();
-        gui.blazePowderComponent = blazePowderComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -123,27 +99,13 @@ public class BrewingStandGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot == 0) {
-            getFirstBottleComponent().click(this, event, 0);
-        } else if (rawSlot == 1) {
-            getSecondBottleComponent().click(this, event, 0);
-        } else if (rawSlot == 2) {
-            getThirdBottleComponent().click(this, event, 0);
-        } else if (rawSlot == 3) {
-            getPotionIngredientComponent().click(this, event, 0);
-        } else if (rawSlot == 4) {
-            getBlazePowderComponent().click(this, event, 0);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 5);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
@@ -166,7 +128,7 @@ public class BrewingStandGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getFirstBottleComponent() {
-        return firstBottleComponent;
+        return components[0];
     }
 
     /**
@@ -178,7 +140,7 @@ public class BrewingStandGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getSecondBottleComponent() {
-        return secondBottleComponent;
+        return components[1];
     }
 
     /**
@@ -190,7 +152,7 @@ public class BrewingStandGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getThirdBottleComponent() {
-        return thirdBottleComponent;
+        return components[2];
     }
 
     /**
@@ -202,7 +164,7 @@ public class BrewingStandGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPotionIngredientComponent() {
-        return potionIngredientComponent;
+        return components[3];
     }
 
     /**
@@ -214,7 +176,7 @@ public class BrewingStandGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getBlazePowderComponent() {
-        return blazePowderComponent;
+        return components[4];
     }
 
     /**
@@ -226,7 +188,7 @@ public class BrewingStandGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[5];
     }
 
     /**
@@ -293,29 +255,11 @@ public class BrewingStandGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "first-bottle":
-                    component = brewingStandGui.getFirstBottleComponent();
-                    break;
-                case "second-bottle":
-                    component = brewingStandGui.getSecondBottleComponent();
-                    break;
-                case "third-bottle":
-                    component = brewingStandGui.getThirdBottleComponent();
-                    break;
-                case "potion-ingredient":
-                    component = brewingStandGui.getPotionIngredientComponent();
-                    break;
-                case "blaze-powder":
-                    component = brewingStandGui.getBlazePowderComponent();
-                    break;
-                case "player-inventory":
-                    component = brewingStandGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(brewingStandGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
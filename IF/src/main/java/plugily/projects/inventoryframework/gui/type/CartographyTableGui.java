@@ -4,6 +4,7 @@ import plugily.projects.inventoryframework.abstraction.CartographyTableInventory
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import plugily.projects.inventoryframework.util.version.VersionMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -35,28 +36,21 @@ import java.io.InputStream;
 public class CartographyTableGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the map
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent mapComponent = new InventoryComponent(1, 1);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("map", 0, 1, 1),
+        new SlotLayout.Region("paper", 1, 1, 1),
+        new SlotLayout.Region("output", 2, 1, 1)
+    );
 
     /**
-     * Represents the inventory component for the paper
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent paperComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the output
-     */
-    @NotNull
-    private InventoryComponent outputComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the player inventory
-     */
-    @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * An internal cartography table inventory
@@ -80,24 +74,35 @@ public class CartographyTableGui extends NamedGui {
             throw new IllegalArgumentException("Cartography tables can only be opened by players");
         }
 
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
+
+            LAYOUT.display(this, getInventory(), components);
+        }
 
         getHumanEntityCache().store(humanEntity);
 
-        getMapComponent().display(getInventory(), 0);
-        getPaperComponent().display(getInventory(), 1);
-        getOutputComponent().display(getInventory(), 2);
-        getPlayerInventoryComponent().display();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        cartographyTableInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        addOpenInventory(humanEntity);
+    }
+
+    @Override
+    public void refresh() {
+        int changedSlots = LAYOUT.refreshTop(this, components);
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
+        if (changedSlots > 0) {
+            ItemStack[] topItems = getTopItems();
+
+            for (HumanEntity viewer : getViewers()) {
+                if (viewer instanceof Player) {
+                    cartographyTableInventory.sendItems((Player) viewer, topItems);
+                }
+            }
         }
 
-        cartographyTableInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -106,10 +111,7 @@ public class CartographyTableGui extends NamedGui {
     public CartographyTableGui copy() {
         CartographyTableGui gui = new CartographyTableGui(getTitle());
 
-        gui.mapComponent = mapComponent.copy();
-        gui.paperComponent = paperComponent.copy();
-        gui.outputComponent = outputComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -122,30 +124,24 @@ public class CartographyTableGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot == 0) {
-            getMapComponent().click(this, event, 0);
-        } else if (rawSlot == 1) {
-            getPaperComponent().click(this, event, 0);
-        } else if (rawSlot == 2) {
-            getOutputComponent().click(this, event, 0);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 3);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.CARTOGRAPHY, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.CARTOGRAPHY, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -180,7 +176,7 @@ public class CartographyTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getMapComponent() {
-        return mapComponent;
+        return components[0];
     }
 
     /**
@@ -192,7 +188,7 @@ public class CartographyTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPaperComponent() {
-        return paperComponent;
+        return components[1];
     }
 
     /**
@@ -204,7 +200,7 @@ public class CartographyTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getOutputComponent() {
-        return outputComponent;
+        return components[2];
     }
 
     /**
@@ -216,7 +212,7 @@ public class CartographyTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[3];
     }
 
     /**
@@ -299,23 +295,11 @@ public class CartographyTableGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "map":
-                    component = cartographyTableGui.getMapComponent();
-                    break;
-                case "paper":
-                    component = cartographyTableGui.getPaperComponent();
-                    break;
-                case "output":
-                    component = cartographyTableGui.getOutputComponent();
-                    break;
-                case "player-inventory":
-                    component = cartographyTableGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(cartographyTableGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
@@ -3,6 +3,7 @@ package plugily.projects.inventoryframework.gui.type;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -30,22 +31,20 @@ import java.io.InputStream;
 public class CraftingTableGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the input
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent inputComponent = new InventoryComponent(3, 3);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("output", 0, 1, 1),
+        new SlotLayout.Region("input", 1, 3, 3)
+    );
 
     /**
-     * Represents the inventory component for the output
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent outputComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the player inventory
-     */
-    @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * Constructs a new GUI
@@ -59,23 +58,23 @@ public class CraftingTableGui extends NamedGui {
 
     @Override
     public void show(@NotNull HumanEntity humanEntity) {
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
 
-        getHumanEntityCache().store(humanEntity);
+            LAYOUT.display(this, getInventory(), components);
+        }
 
-        getOutputComponent().display(getInventory(), 0);
-        getInputComponent().display(getInventory(), 1);
-        getPlayerInventoryComponent().display();
+        getHumanEntityCache().store(humanEntity);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
-        }
+        openInventory(humanEntity);
+    }
 
-        humanEntity.openInventory(getInventory());
+    @Override
+    public void refresh() {
+        LAYOUT.refreshTop(this, components);
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -84,9 +83,7 @@ public class CraftingTableGui extends NamedGui {
     public CraftingTableGui copy() {
         CraftingTableGui gui = new CraftingTableGui(getTitle());
 
-        gui.inputComponent = inputComponent.copy();
-        gui.outputComponent = outputComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -99,28 +96,24 @@ public class CraftingTableGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot == 0) {
-            getOutputComponent().click(this, event, 0);
-        } else if (rawSlot >= 1 && rawSlot <= 9) {
-            getInputComponent().click(this, event, rawSlot - 1);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 10);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.WORKBENCH, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.WORKBENCH, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -132,7 +125,7 @@ public class CraftingTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getInputComponent() {
-        return inputComponent;
+        return components[1];
     }
 
     /**
@@ -144,7 +137,7 @@ public class CraftingTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getOutputComponent() {
-        return outputComponent;
+        return components[0];
     }
 
     /**
@@ -156,7 +149,7 @@ public class CraftingTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[2];
     }
 
     /**
@@ -223,20 +216,11 @@ public class CraftingTableGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "input":
-                    component = craftingTableGui.getInputComponent();
-                    break;
-                case "output":
-                    component = craftingTableGui.getOutputComponent();
-                    break;
-                case "player-inventory":
-                    component = craftingTableGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(craftingTableGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
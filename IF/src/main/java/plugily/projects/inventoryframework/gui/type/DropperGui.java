@@ -3,6 +3,7 @@ package plugily.projects.inventoryframework.gui.type;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -30,16 +31,19 @@ import java.io.InputStream;
 public class DropperGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the contents
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent contentsComponent = new InventoryComponent(3, 3);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("contents", 0, 3, 3)
+    );
 
     /**
-     * Represents the inventory component for the player inventory
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * Constructs a new GUI
@@ -53,22 +57,23 @@ public class DropperGui extends NamedGui {
 
     @Override
     public void show(@NotNull HumanEntity humanEntity) {
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
 
-        getHumanEntityCache().store(humanEntity);
+            LAYOUT.display(this, getInventory(), components);
+        }
 
-        getContentsComponent().display(getInventory(), 0);
-        getPlayerInventoryComponent().display();
+        getHumanEntityCache().store(humanEntity);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
-        }
+        openInventory(humanEntity);
+    }
 
-        humanEntity.openInventory(getInventory());
+    @Override
+    public void refresh() {
+        LAYOUT.refreshTop(this, components);
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -77,8 +82,7 @@ public class DropperGui extends NamedGui {
     public DropperGui copy() {
         DropperGui gui = new DropperGui(getTitle());
 
-        gui.contentsComponent = contentsComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -91,19 +95,13 @@ public class DropperGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot >= 0 && rawSlot <= 8) {
-            getContentsComponent().click(this, event, rawSlot);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 9);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
@@ -126,7 +124,7 @@ public class DropperGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getContentsComponent() {
-        return contentsComponent;
+        return components[0];
     }
 
     /**
@@ -138,7 +136,7 @@ public class DropperGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[1];
     }
 
     /**
@@ -205,17 +203,11 @@ public class DropperGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "contents":
-                    component = dropperGui.getContentsComponent();
-                    break;
-                case "player-inventory":
-                    component = dropperGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(dropperGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
@@ -4,6 +4,7 @@ import plugily.projects.inventoryframework.abstraction.EnchantingTableInventory;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import plugily.projects.inventoryframework.util.version.VersionMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -34,16 +35,19 @@ import java.io.InputStream;
 public class EnchantingTableGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the input
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent inputComponent = new InventoryComponent(2, 1);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("input", 0, 2, 1)
+    );
 
     /**
-     * Represents the inventory component for the player inventory
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * An internal enchanting table inventory
@@ -67,22 +71,35 @@ public class EnchantingTableGui extends NamedGui {
             throw new IllegalArgumentException("Enchanting tables can only be opened by players");
         }
 
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
+
+            LAYOUT.display(this, getInventory(), components);
+        }
 
         getHumanEntityCache().store(humanEntity);
 
-        getInputComponent().display(getInventory(), 0);
-        getPlayerInventoryComponent().display();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
+
+        enchantingTableInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        addOpenInventory(humanEntity);
+    }
+
+    @Override
+    public void refresh() {
+        int changedSlots = LAYOUT.refreshTop(this, components);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        if (changedSlots > 0) {
+            ItemStack[] topItems = getTopItems();
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
+            for (HumanEntity viewer : getViewers()) {
+                if (viewer instanceof Player) {
+                    enchantingTableInventory.sendItems((Player) viewer, topItems);
+                }
+            }
         }
 
-        enchantingTableInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -91,8 +108,7 @@ public class EnchantingTableGui extends NamedGui {
     public EnchantingTableGui copy() {
         EnchantingTableGui gui = new EnchantingTableGui(getTitle());
 
-        gui.inputComponent = inputComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -105,26 +121,24 @@ public class EnchantingTableGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot >= 0 && rawSlot <= 1) {
-            getInputComponent().click(this, event, rawSlot);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 2);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.ENCHANTING, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.ENCHANTING, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -155,7 +169,7 @@ public class EnchantingTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getInputComponent() {
-        return inputComponent;
+        return components[0];
     }
 
     /**
@@ -167,7 +181,7 @@ public class EnchantingTableGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[1];
     }
 
     /**
@@ -249,17 +263,11 @@ public class EnchantingTableGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "input":
-                    component = enchantingTableGui.getInputComponent();
-                    break;
-                case "player-inventory":
-                    component = enchantingTableGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(enchantingTableGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
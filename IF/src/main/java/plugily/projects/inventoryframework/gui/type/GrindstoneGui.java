@@ -4,6 +4,7 @@ import plugily.projects.inventoryframework.abstraction.GrindstoneInventory;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import plugily.projects.inventoryframework.util.version.VersionMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -34,22 +35,20 @@ import java.io.InputStream;
 public class GrindstoneGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the items
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent itemsComponent = new InventoryComponent(1, 2);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("items", 0, 1, 2),
+        new SlotLayout.Region("result", 2, 1, 1)
+    );
 
     /**
-     * Represents the inventory component for the result
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent resultComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the player inventory
-     */
-    @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * An internal grindstone inventory
@@ -73,23 +72,35 @@ public class GrindstoneGui extends NamedGui {
             throw new IllegalArgumentException("Grindstones can only be opened by players");
         }
 
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
+
+            LAYOUT.display(this, getInventory(), components);
+        }
 
         getHumanEntityCache().store(humanEntity);
 
-        getItemsComponent().display(getInventory(), 0);
-        getResultComponent().display(getInventory(), 2);
-        getPlayerInventoryComponent().display();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        grindstoneInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        addOpenInventory(humanEntity);
+    }
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
+    @Override
+    public void refresh() {
+        int changedSlots = LAYOUT.refreshTop(this, components);
+
+        if (changedSlots > 0) {
+            ItemStack[] topItems = getTopItems();
+
+            for (HumanEntity viewer : getViewers()) {
+                if (viewer instanceof Player) {
+                    grindstoneInventory.sendItems((Player) viewer, topItems);
+                }
+            }
         }
 
-        grindstoneInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -98,9 +109,7 @@ public class GrindstoneGui extends NamedGui {
     public GrindstoneGui copy() {
         GrindstoneGui gui = new GrindstoneGui(getTitle());
 
-        gui.itemsComponent = itemsComponent.copy();
-        gui.resultComponent = resultComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -113,28 +122,24 @@ public class GrindstoneGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot >= 0 && rawSlot <= 1) {
-            getItemsComponent().click(this, event, rawSlot);
-        } else if (rawSlot == 2) {
-            getResultComponent().click(this, event, 0);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 3);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.GRINDSTONE, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.GRINDSTONE, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -167,7 +172,7 @@ public class GrindstoneGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getItemsComponent() {
-        return itemsComponent;
+        return components[0];
     }
 
     /**
@@ -179,7 +184,7 @@ public class GrindstoneGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getResultComponent() {
-        return resultComponent;
+        return components[1];
     }
 
     /**
@@ -191,7 +196,7 @@ public class GrindstoneGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[2];
     }
 
     /**
@@ -274,20 +279,11 @@ public class GrindstoneGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "items":
-                    component = grindstoneGui.getItemsComponent();
-                    break;
-                case "result":
-                    component = grindstoneGui.getResultComponent();
-                    break;
-                case "player-inventory":
-                    component = grindstoneGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(grindstoneGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
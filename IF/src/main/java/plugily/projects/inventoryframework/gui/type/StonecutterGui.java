@@ -4,6 +4,7 @@ import plugily.projects.inventoryframework.abstraction.StonecutterInventory;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.NamedGui;
+import plugily.projects.inventoryframework.gui.type.util.SlotLayout;
 import plugily.projects.inventoryframework.util.version.VersionMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
@@ -34,22 +35,20 @@ import java.io.InputStream;
 public class StonecutterGui extends NamedGui {
 
     /**
-     * Represents the inventory component for the input
+     * The layout of the components of this gui
      */
     @NotNull
-    private InventoryComponent inputComponent = new InventoryComponent(1, 1);
-
-    /**
-     * Represents the inventory component for the result
-     */
-    @NotNull
-    private InventoryComponent resultComponent = new InventoryComponent(1, 1);
+    private static final SlotLayout LAYOUT = new SlotLayout(
+        new SlotLayout.Region("input", 0, 1, 1),
+        new SlotLayout.Region("result", 1, 1, 1)
+    );
 
     /**
-     * Represents the inventory component for the player inventory
+     * The components of this gui, in the order of the regions of {@link #LAYOUT}, followed by the player inventory
+     * component
      */
     @NotNull
-    private InventoryComponent playerInventoryComponent = new InventoryComponent(9, 4);
+    private InventoryComponent @NotNull [] components = LAYOUT.createComponents();
 
     /**
      * An internal stonecutter inventory
@@ -74,23 +73,35 @@ public class StonecutterGui extends NamedGui {
             throw new IllegalArgumentException("Enchanting tables can only be opened by players");
         }
 
-        getInventory().clear();
+        if (!isBatchRendered()) {
+            getInventory().clear();
+
+            LAYOUT.display(this, getInventory(), components);
+        }
 
         getHumanEntityCache().store(humanEntity);
 
-        getInputComponent().display(getInventory(), 0);
-        getResultComponent().display(getInventory(), 1);
-        getPlayerInventoryComponent().display();
+        LAYOUT.showPlayerInventory(this, humanEntity, components);
+
+        stonecutterInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        addOpenInventory(humanEntity);
+    }
+
+    @Override
+    public void refresh() {
+        int changedSlots = LAYOUT.refreshTop(this, components);
 
-        if (getPlayerInventoryComponent().hasItem()) {
-            humanEntity.getInventory().clear();
+        if (changedSlots > 0) {
+            ItemStack[] topItems = getTopItems();
 
-            getPlayerInventoryComponent().placeItems(humanEntity.getInventory(), 0);
-        } else {
-            getHumanEntityCache().clearCache(humanEntity);
+            for (HumanEntity viewer : getViewers()) {
+                if (viewer instanceof Player) {
+                    stonecutterInventory.sendItems((Player) viewer, topItems);
+                }
+            }
         }
 
-        stonecutterInventory.openInventory((Player) humanEntity, getTitle(), getTopItems());
+        LAYOUT.refreshPlayerInventory(this, components);
     }
 
     @NotNull
@@ -99,9 +110,7 @@ public class StonecutterGui extends NamedGui {
     public StonecutterGui copy() {
         StonecutterGui gui = new StonecutterGui(getTitle());
 
-        gui.inputComponent = inputComponent.copy();
-        gui.resultComponent = resultComponent.copy();
-        gui.playerInventoryComponent = playerInventoryComponent.copy();
+        gui.components = LAYOUT.copy(components);
 
         gui.setOnTopClick(this.onTopClick);
         gui.setOnBottomClick(this.onBottomClick);
@@ -114,28 +123,24 @@ public class StonecutterGui extends NamedGui {
 
     @Override
     public void click(@NotNull InventoryClickEvent event) {
-        int rawSlot = event.getRawSlot();
-
-        if (rawSlot == 0) {
-            getInputComponent().click(this, event, 0);
-        } else if (rawSlot == 1) {
-            getResultComponent().click(this, event, 0);
-        } else {
-            getPlayerInventoryComponent().click(this, event, rawSlot - 2);
-        }
+        LAYOUT.click(this, event, components);
     }
 
     @Contract(pure = true)
     @Override
     public boolean isPlayerInventoryUsed() {
-        return getPlayerInventoryComponent().hasItem();
+        return LAYOUT.isPlayerInventoryUsed(components);
     }
 
     @NotNull
     @Contract(pure = true)
     @Override
     public Inventory createInventory(@NotNull String title) {
-        return Bukkit.createInventory(this, InventoryType.STONECUTTER, title);
+        Inventory inventory = Bukkit.createInventory(this, InventoryType.STONECUTTER, title);
+
+        addInventory(inventory, this);
+
+        return inventory;
     }
 
     /**
@@ -168,7 +173,7 @@ public class StonecutterGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getInputComponent() {
-        return inputComponent;
+        return components[0];
     }
 
     /**
@@ -180,7 +185,7 @@ public class StonecutterGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getResultComponent() {
-        return resultComponent;
+        return components[1];
     }
 
     /**
@@ -192,7 +197,7 @@ public class StonecutterGui extends NamedGui {
     @NotNull
     @Contract(pure = true)
     public InventoryComponent getPlayerInventoryComponent() {
-        return playerInventoryComponent;
+        return components[2];
     }
 
     /**
@@ -274,20 +279,11 @@ public class StonecutterGui extends NamedGui {
                 throw new XMLLoadException("Component tag does not have a name specified");
             }
 
-            InventoryComponent component;
-
-            switch (componentElement.getAttribute("name")) {
-                case "input":
-                    component = stonecutterGui.getInputComponent();
-                    break;
-                case "result":
-                    component = stonecutterGui.getResultComponent();
-                    break;
-                case "player-inventory":
-                    component = stonecutterGui.getPlayerInventoryComponent();
-                    break;
-                default:
-                    throw new XMLLoadException("Unknown component name");
+            String name = componentElement.getAttribute("name");
+            InventoryComponent component = LAYOUT.getComponent(stonecutterGui.components, name);
+
+            if (component == null) {
+                throw new XMLLoadException("Unknown component name");
             }
 
             component.load(instance, componentElement);
@@ -2,6 +2,8 @@ package plugily.projects.inventoryframework.gui.type.util;
 
 import plugily.projects.inventoryframework.HumanEntityCache;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
+import plugily.projects.inventoryframework.gui.GuiItem;
+import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.listener.GuiListener;
 import plugily.projects.inventoryframework.gui.listener.NewPickupListener;
 import plugily.projects.inventoryframework.gui.listener.OldPickupListener;
@@ -25,6 +27,8 @@ import plugily.projects.inventoryframework.gui.type.SmithingTableGui;
 import plugily.projects.inventoryframework.gui.type.SmokerGui;
 import plugily.projects.inventoryframework.gui.type.StonecutterGui;
 import plugily.projects.inventoryframework.pane.PatternPane;
+import plugily.projects.inventoryframework.pane.util.ViewState;
+import plugily.projects.inventoryframework.util.WeakIdentityRegistry;
 import plugily.projects.inventoryframework.util.XMLUtil;
 import plugily.projects.inventoryframework.util.version.Version;
 import org.apache.commons.lang3.reflect.MethodUtils;
@@ -141,6 +145,83 @@ public abstract class Gui implements InventoryHolder {
      */
     boolean updating = false;
 
+    /**
+     * Whether this gui is repainting (as invoked by {@link #repaint()}), true if this is the case, false otherwise. While
+     * repainting, components only render their invalidated region.
+     */
+    private boolean repainting = false;
+
+    /**
+     * The slots of the top inventory which were placed again into the inventories of viewers while repainting, so only
+     * the overlay items in these slots have to be placed again
+     */
+    @NotNull
+    private final BitSet repaintedSlots = new BitSet();
+
+    /**
+     * Whether the items in the inventories of this gui may have been changed by the server since the last update, true
+     * if this is the case, false otherwise. While this is the case, the next update places all slots instead of only
+     * the changed ones.
+     */
+    private boolean inventoriesChanged = false;
+
+    /**
+     * Whether updates of this gui are deferred until the end of the tick, see {@link #setDeferUpdates(boolean)}
+     */
+    private boolean deferUpdates = false;
+
+    /**
+     * Whether a full update of this gui is waiting to be flushed at the end of the tick
+     */
+    private boolean updatePending = false;
+
+    /**
+     * Whether a repaint of this gui is waiting to be flushed at the end of the tick
+     */
+    private boolean repaintPending = false;
+
+    /**
+     * The amount of deferred updates and repaints which were merged into an update that was already pending
+     */
+    private long mergedUpdateCount = 0;
+
+    /**
+     * Whether the inventories shared by all viewers have already been rendered during the batch show that is currently
+     * in progress, see {@link #show(Collection)}
+     */
+    private boolean batchRendered = false;
+
+    /**
+     * The time in nanoseconds the last batch show took, see {@link #getLastBatchShowTime()}
+     */
+    private long lastBatchShowTime = 0;
+
+    /**
+     * The overlay which provides the items that differ per viewer, or null if every viewer sees the same items, see
+     * {@link #setOverlay(Function)}
+     */
+    @Nullable
+    private Function<? super HumanEntity, ? extends Map<Integer, GuiItem>> overlay;
+
+    /**
+     * Whether the {@link ViewState view states} of the panes of this gui are kept per viewer, see
+     * {@link #setPerViewerState(boolean)}
+     */
+    private boolean perViewerState = false;
+
+    /**
+     * The frame of the viewer this gui is currently being rendered for, or null if the shared inventory is being
+     * rendered
+     */
+    @Nullable
+    private ViewerFrame renderingFrame;
+
+    /**
+     * The inventories opened for each viewer of this gui while an overlay is set or the state is kept per viewer
+     */
+    @NotNull
+    private final Map<HumanEntity, ViewerFrame> viewerFrames = new HashMap<>();
+
     /**
      * The pane mapping which will allow users to register their own panes to be used in XML files
      */
@@ -155,12 +236,24 @@ public abstract class Gui implements InventoryHolder {
         = new HashMap<>();
 
     /**
-     * A map containing the relations between inventories and their respective gui. This is needed because Bukkit and
-     * Spigot ignore inventory holders for beacons, brewing stands, dispensers, droppers, furnaces and hoppers. The
-     * inventory holder for beacons is already being set properly via NMS, but this contains the other inventory types.
+     * A registry containing the relations between inventories and their respective gui. This is needed because Bukkit
+     * and Spigot ignore inventory holders for brewing stands, dispensers, droppers, furnaces and hoppers, and because
+     * asking block inventories for their holder may be expensive. Inventories are compared by identity and held weakly,
+     * and the registry can be read from any thread.
      */
     @NotNull
-    private static final Map<Inventory, Gui> GUI_INVENTORIES = new WeakHashMap<>();
+    private static final WeakIdentityRegistry<Inventory, Gui> GUI_INVENTORIES = new WeakIdentityRegistry<>();
+
+    /**
+     * The guis which have a deferred update or repaint waiting to be flushed, in the order they were first marked
+     */
+    @NotNull
+    private static final Set<Gui> PENDING_UPDATES = new LinkedHashSet<>();
+
+    /**
+     * Whether the task which flushes the {@link #PENDING_UPDATES} has been scheduled for the current tick
+     */
+    private static boolean flushScheduled;
 
     /**
      * Whether listeners have ben registered by some gui
@@ -203,6 +296,57 @@ public abstract class Gui implements InventoryHolder {
      */
     public abstract void show(@NotNull HumanEntity humanEntity);
 
+    /**
+     * Shows this gui to all the specified human entities at once. The inventories which are shared by all viewers, like
+     * the top inventory, are only rendered for the first human entity; for every other human entity only its own
+     * player inventory and cache are handled before the gui is opened. Gui types which don't support this render the
+     * whole gui for every human entity, as if {@link #show(HumanEntity)} was called for each of them. The time the
+     * whole batch took is available via {@link #getLastBatchShowTime()} afterwards.
+     *
+     * @param humanEntities the human entities to show the gui to
+     * @since 0.9.9
+     */
+    public void show(@NotNull Collection<? extends HumanEntity> humanEntities) {
+        long start = System.nanoTime();
+
+        try {
+            for (HumanEntity humanEntity : humanEntities) {
+                show(humanEntity);
+
+                batchRendered = true;
+            }
+        } finally {
+            batchRendered = false;
+
+            lastBatchShowTime = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Gets the time the last call to {@link #show(Collection)} took, in nanoseconds. This is zero if this gui has not
+     * been shown in a batch yet.
+     *
+     * @return the duration of the last batch show in nanoseconds
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public long getLastBatchShowTime() {
+        return lastBatchShowTime;
+    }
+
+    /**
+     * Gets whether the inventories shared by all viewers have already been rendered by an earlier step of the batch show
+     * that is currently in progress. Implementations of {@link #show(HumanEntity)} can skip rendering those and only
+     * handle the inventory of the provided human entity when this returns true.
+     *
+     * @return true if the shared inventories have been rendered already, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    protected boolean isBatchRendered() {
+        return batchRendered;
+    }
+
     /**
      * Makes a copy of this gui and returns it. This makes a deep copy of the gui. This entails that the underlying
      * panes will be copied as per their {@link Pane#copy} and miscellaneous data will be copied. The copy of this gui,
@@ -242,7 +386,13 @@ public abstract class Gui implements InventoryHolder {
      */
     @Contract(pure = true)
     public int getViewerCount() {
-        return getInventory().getViewers().size();
+        int viewerCount = getInventory().getViewers().size();
+
+        for (ViewerFrame frame : viewerFrames.values()) {
+            viewerCount += frame.inventory.getViewers().size();
+        }
+
+        return viewerCount;
     }
 
     /**
@@ -256,25 +406,590 @@ public abstract class Gui implements InventoryHolder {
     @NotNull
     @Contract(pure = true)
     public List<HumanEntity> getViewers() {
-        return new ArrayList<>(getInventory().getViewers());
+        List<HumanEntity> viewers = new ArrayList<>(getInventory().getViewers());
+
+        for (ViewerFrame frame : viewerFrames.values()) {
+            viewers.addAll(frame.inventory.getViewers());
+        }
+
+        return viewers;
     }
 
     /**
-     * Update the gui for everyone
+     * Update the gui for everyone. This refreshes the inventory that is already open for the viewers as per
+     * {@link #refresh()}; use {@link #show(HumanEntity)} to open the gui for the first time. If updates are
+     * {@link #setDeferUpdates(boolean) deferred}, this only marks the gui as dirty and the update happens once at the
+     * end of the tick.
+     *
+     * Only the slots which changed since the previous update are sent to the viewers. Slots which were changed by the
+     * server instead, for example because a player took an item in a click which wasn't cancelled, are therefore only
+     * restored if {@link #markInventoriesChanged()} was called before; the gui listener does so for such clicks.
      */
     public void update() {
+        if (deferUpdates) {
+            if (updatePending || repaintPending) {
+                mergedUpdateCount++;
+            }
+
+            updatePending = true;
+            repaintPending = false;
+
+            scheduleFlush();
+
+            return;
+        }
+
+        updateNow();
+    }
+
+    /**
+     * Updates the gui for everyone right away, regardless of whether updates are deferred.
+     *
+     * @since 0.9.9
+     */
+    private void updateNow() {
         updating = true;
 
-        getViewers().forEach(this::show);
+        if (perViewerState) {
+            renderViewers();
+        } else {
+            refresh();
+        }
+
+        renderOverlays();
 
         if (!updating)
             throw new AssertionError("Gui#isUpdating became false before Gui#update finished");
 
         updating = false;
+        inventoriesChanged = false;
+    }
+
+    /**
+     * Updates only the invalidated regions of this gui for everyone. Each component renders just the region which has
+     * been marked via {@link InventoryComponent#invalidate(int, int, int, int)} and only the slots inside those regions
+     * are sent to the viewers; the rest of the gui is left untouched. Components without an invalidated region are not
+     * rendered at all. Gui types which are unable to refresh their inventory in place show the whole gui again. The
+     * {@link #setOverlay(Function) overlay} is not applied again; its items are only placed again in the repainted
+     * slots.
+     *
+     * If updates are {@link #setDeferUpdates(boolean) deferred}, the repaint happens once at the end of the tick and
+     * is merged into a pending full update if there is one.
+     *
+     * @since 0.9.9
+     * @see #update()
+     */
+    public void repaint() {
+        if (deferUpdates) {
+            if (updatePending || repaintPending) {
+                mergedUpdateCount++;
+            }
+
+            if (!updatePending) {
+                repaintPending = true;
+            }
+
+            scheduleFlush();
+
+            return;
+        }
+
+        repaintNow();
+    }
+
+    /**
+     * Repaints the gui for everyone right away, regardless of whether updates are deferred.
+     *
+     * @since 0.9.9
+     */
+    private void repaintNow() {
+        repainting = true;
+        repaintedSlots.clear();
+
+        try {
+            updateNow();
+        } finally {
+            repainting = false;
+        }
+    }
+
+    /**
+     * Sets whether updates of this gui should be deferred. While deferred, {@link #update()} and {@link #repaint()}
+     * only mark this gui as dirty; all guis marked during a tick are flushed at the end of that tick by a single shared
+     * scheduler task. Several updates requested in the same tick, for example when a handler changes a few panes at
+     * once, are thus merged into one. A pending full update includes any pending repaint. Turning deferral off does not
+     * cancel an update which is already pending.
+     *
+     * @param deferUpdates whether updates should be deferred
+     * @since 0.9.9
+     */
+    public void setDeferUpdates(boolean deferUpdates) {
+        this.deferUpdates = deferUpdates;
+    }
+
+    /**
+     * Gets whether updates of this gui are deferred until the end of the tick.
+     *
+     * @return true if updates are deferred, false otherwise
+     * @since 0.9.9
+     * @see #setDeferUpdates(boolean)
+     */
+    @Contract(pure = true)
+    public boolean isDeferringUpdates() {
+        return deferUpdates;
     }
 
     /**
-     * Adds the specified inventory and gui, so we can properly intercept clicks.
+     * Gets the amount of deferred updates and repaints of this gui which were redundant, because an update was already
+     * pending for the same tick, and were therefore merged into it.
+     *
+     * @return the amount of merged updates
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public long getMergedUpdateCount() {
+        return mergedUpdateCount;
+    }
+
+    /**
+     * Adds this gui to the pending updates and schedules the shared flush task if it is not scheduled yet.
+     *
+     * @since 0.9.9
+     */
+    private void scheduleFlush() {
+        PENDING_UPDATES.add(this);
+
+        if (flushScheduled) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(JavaPlugin.getProvidingPlugin(getClass()), Gui::flushPendingUpdates);
+
+        flushScheduled = true;
+    }
+
+    /**
+     * Performs every pending update and repaint. Guis which get marked again while flushing are flushed by the next
+     * scheduled task. An exception thrown while updating one gui is logged and does not prevent the other guis from
+     * being updated.
+     *
+     * @since 0.9.9
+     */
+    private static void flushPendingUpdates() {
+        List<Gui> guis = new ArrayList<>(PENDING_UPDATES);
+
+        PENDING_UPDATES.clear();
+        flushScheduled = false;
+
+        for (Gui gui : guis) {
+            boolean update = gui.updatePending;
+            boolean repaint = gui.repaintPending;
+
+            gui.updatePending = false;
+            gui.repaintPending = false;
+
+            try {
+                if (update) {
+                    gui.updateNow();
+                } else if (repaint) {
+                    gui.repaintNow();
+                }
+            } catch (Throwable t) {
+                Logger logger = JavaPlugin.getProvidingPlugin(gui.getClass()).getLogger();
+                logger.log(Level.SEVERE, "Exception while flushing deferred update of " +
+                    gui.getClass().getSimpleName(), t);
+            }
+        }
+    }
+
+    /**
+     * Renders this gui again into the inventory that is already open for its viewers. Unlike {@link #show(HumanEntity)}
+     * the inventory is not reopened, so no inventory open or close events are fired and the viewers keep their window
+     * and cursor. Gui types which are unable to refresh their inventory in place fall back to showing the gui to every
+     * viewer again.
+     *
+     * @since 0.9.9
+     */
+    public void refresh() {
+        show(getViewers());
+    }
+
+    /**
+     * Places the specified player inventory component into the inventories of all viewers of this gui. The component
+     * should already be displayed. Only the slots which changed in the last frame are placed for viewers whose inventory
+     * is already stored in the {@link HumanEntityCache}, unless {@link #markInventoriesChanged() the inventories were
+     * changed by the server}; other viewers get their inventory stored and cleared first and receive all items. If the
+     * component has no items, the stored inventories are restored instead. While this gui is rendered for a single
+     * viewer, because its {@link #setPerViewerState(boolean) state is kept per viewer}, only that viewer receives the
+     * items and it receives all of them.
+     *
+     * @param playerInventoryComponent the displayed player inventory component
+     * @since 0.9.9
+     */
+    protected void refreshPlayerInventories(@NotNull InventoryComponent playerInventoryComponent) {
+        refreshPlayerInventories(playerInventoryComponent, 0, playerInventoryComponent.getHeight() - 1);
+    }
+
+    /**
+     * Places the specified range of rows of the specified component into the inventories of all viewers of this gui, as
+     * per {@link #refreshPlayerInventories(InventoryComponent)}. The range is 0-indexed and inclusive on both ends.
+     *
+     * @param component the displayed component
+     * @param from the first row which belongs to the player inventory
+     * @param end the last row which belongs to the player inventory
+     * @since 0.9.9
+     */
+    protected void refreshPlayerInventories(@NotNull InventoryComponent component, int from, int end) {
+        boolean hasItem = component.hasItemInRows(from, end);
+        List<HumanEntity> viewers = renderingFrame == null ? getViewers() :
+            Collections.singletonList(renderingFrame.viewer);
+
+        for (HumanEntity viewer : viewers) {
+            if (!hasItem) {
+                getHumanEntityCache().restoreAndForget(viewer);
+                continue;
+            }
+
+            if (!getHumanEntityCache().contains(viewer)) {
+                getHumanEntityCache().store(viewer);
+            } else if (renderingFrame == null && !inventoriesChanged) {
+                component.placeChangedItems(viewer.getInventory(), 0, from, end);
+                continue;
+            }
+
+            viewer.getInventory().clear();
+
+            component.placeItems(viewer.getInventory(), 0, from, end);
+        }
+    }
+
+    /**
+     * Places the rows of the specified component which changed in its last frame into the inventories of the viewers
+     * that already have this gui open, as per {@link #refreshPlayerInventories(InventoryComponent, int, int)}. Gui
+     * types call this from {@link #show(HumanEntity)} right after displaying the component: the next refresh only
+     * compares against the new frame, so those viewers would otherwise keep the rows of the previous frame. While the
+     * state of this gui is kept per viewer, every viewer receives all items whenever it is rendered, so nothing is
+     * placed here. The range is 0-indexed and inclusive on both ends.
+     *
+     * @param component the displayed component
+     * @param from the first row which belongs to the player inventory
+     * @param end the last row which belongs to the player inventory
+     * @since 0.9.9
+     */
+    protected void refreshOpenPlayerInventories(@NotNull InventoryComponent component, int from, int end) {
+        if (perViewerState) {
+            return;
+        }
+
+        refreshPlayerInventories(component, from, end);
+    }
+
+    /**
+     * Renders the specified component for a refresh. While this gui is {@link #repaint() repainting} only the
+     * invalidated region of the component is rendered, otherwise the whole component is displayed. The whole component
+     * is also displayed while this gui is rendered for a single viewer, since the previous frame of the component may
+     * belong to another viewer.
+     *
+     * @param component the component to render
+     * @since 0.9.9
+     */
+    protected void renderComponent(@NotNull InventoryComponent component) {
+        if (repainting && renderingFrame == null) {
+            component.displayInvalidated();
+        } else {
+            component.display();
+        }
+    }
+
+    /**
+     * Renders the specified component and places the slots which changed since the component was last displayed into
+     * the inventory of this gui, starting at the specified offset. While this gui is rendered for a single viewer, all
+     * slots are placed into the inventory of that viewer instead. After {@link #markInventoriesChanged()}, all slots
+     * are placed as well, since the server may have changed slots which didn't change in the component.
+     *
+     * @param component the component to refresh
+     * @param offset the slot offset of the component in the inventory of this gui
+     * @return the amount of slots which changed
+     * @since 0.9.9
+     */
+    protected int refreshComponent(@NotNull InventoryComponent component, int offset) {
+        return refreshComponent(component, offset, 0, component.getHeight() - 1);
+    }
+
+    /**
+     * Renders the specified component and places the slots in the specified range of rows which changed since the
+     * component was last displayed into the inventory of this gui, as per
+     * {@link #refreshComponent(InventoryComponent, int)}. The range is 0-indexed and inclusive on both ends.
+     *
+     * @param component the component to refresh
+     * @param offset the slot offset of the component in the inventory of this gui
+     * @param from the first row to place
+     * @param end the last row to place
+     * @return the amount of slots which changed
+     * @since 0.9.9
+     */
+    protected int refreshComponent(@NotNull InventoryComponent component, int offset, int from, int end) {
+        renderComponent(component);
+
+        if (renderingFrame != null) {
+            component.placeItems(renderingFrame.inventory, offset, from, end);
+
+            return (end - from + 1) * component.getLength();
+        }
+
+        if (inventoriesChanged) {
+            for (ViewerFrame frame : viewerFrames.values()) {
+                component.placeItems(frame.inventory, offset, from, end);
+            }
+
+            int slots = (end - from + 1) * component.getLength();
+
+            repaintedSlots.set(offset, offset + slots);
+            component.placeItems(getInventory(), offset, from, end);
+
+            return slots;
+        }
+
+        for (ViewerFrame frame : viewerFrames.values()) {
+            component.placeChangedItems(frame.inventory, offset, from, end);
+        }
+
+        if (repainting && !viewerFrames.isEmpty()) {
+            int start = from * component.getLength();
+
+            for (int slot = start; slot < (end + 1) * component.getLength(); slot++) {
+                if (component.isSlotChanged(slot)) {
+                    repaintedSlots.set(slot - start + offset);
+                }
+            }
+        }
+
+        return component.placeChangedItems(getInventory(), offset, from, end);
+    }
+
+    /**
+     * Opens the inventory of this gui for the specified human entity. If an {@link #setOverlay(Function) overlay} is
+     * set, the human entity gets its own inventory instead, which contains the shared items of this gui with the items
+     * of the overlay for this human entity on top. If the {@link #setPerViewerState(boolean) state is kept per viewer},
+     * the human entity gets its own inventory as well, into which this gui is rendered with the state of the human
+     * entity. The shared items have to be rendered into {@link #getInventory()} before calling this.
+     *
+     * @param humanEntity the human entity to open the inventory for
+     * @since 0.9.9
+     */
+    protected void openInventory(@NotNull HumanEntity humanEntity) {
+        viewerFrames.values().removeIf(frame -> frame.inventory.getViewers().isEmpty());
+
+        if (overlay == null && !perViewerState) {
+            humanEntity.openInventory(getInventory());
+            return;
+        }
+
+        Inventory inventory = createInventory();
+
+        addInventory(inventory, this);
+
+        Map<Integer, GuiItem> items = overlay == null ? Collections.emptyMap() : overlay.apply(humanEntity);
+        ViewerFrame frame = new ViewerFrame(humanEntity, inventory, items);
+
+        if (perViewerState) {
+            renderViewer(frame);
+        } else {
+            inventory.setContents(getInventory().getContents());
+        }
+
+        frame.place();
+
+        viewerFrames.put(humanEntity, frame);
+
+        humanEntity.openInventory(inventory);
+    }
+
+    /**
+     * Renders this gui for every viewer which has its own inventory, each with their own state. If no viewer has its
+     * own inventory, the shared inventory is refreshed instead.
+     *
+     * @since 0.9.9
+     */
+    private void renderViewers() {
+        viewerFrames.values().removeIf(frame -> frame.inventory.getViewers().isEmpty());
+
+        if (viewerFrames.isEmpty()) {
+            refresh();
+            return;
+        }
+
+        for (ViewerFrame frame : viewerFrames.values()) {
+            renderViewer(frame);
+        }
+    }
+
+    /**
+     * Renders this gui into the inventory of the specified frame, with the {@link ViewState view states} of the viewer
+     * of that frame. This refreshes the gui as per {@link #refresh()}, while the components and the player inventory
+     * are rendered and placed for the viewer only.
+     *
+     * @param frame the frame to render this gui into
+     * @since 0.9.9
+     */
+    private void renderViewer(@NotNull ViewerFrame frame) {
+        HumanEntity previousViewer = ViewState.setViewer(frame.viewer);
+
+        renderingFrame = frame;
+
+        try {
+            refresh();
+        } finally {
+            renderingFrame = null;
+
+            ViewState.setViewer(previousViewer);
+        }
+    }
+
+    /**
+     * Renders the overlay again for every viewer which has its own inventory. The slots covered by the previous overlay
+     * are reset to the shared items first, so items that are no longer part of the overlay disappear. If the state is
+     * kept per viewer, those slots have already been rendered for the viewer and are not reset.
+     *
+     * While repainting, the overlay is not asked for new items. Only the overlay items in the slots which the repaint
+     * placed again are placed again, which is every slot if the state is kept per viewer.
+     *
+     * @since 0.9.9
+     */
+    private void renderOverlays() {
+        viewerFrames.values().removeIf(frame -> frame.inventory.getViewers().isEmpty());
+
+        for (Map.Entry<HumanEntity, ViewerFrame> entry : viewerFrames.entrySet()) {
+            ViewerFrame frame = entry.getValue();
+
+            if (repainting) {
+                if (perViewerState) {
+                    frame.place();
+                } else {
+                    frame.place(repaintedSlots);
+                }
+
+                continue;
+            }
+
+            if (!perViewerState) {
+                for (int slot : frame.items.keySet()) {
+                    frame.inventory.setItem(slot, getInventory().getItem(slot));
+                }
+            }
+
+            if (overlay != null) {
+                frame.items = overlay.apply(entry.getKey());
+                frame.place();
+            }
+        }
+    }
+
+    /**
+     * Sets whether the {@link ViewState view states} of the panes of this gui, like the current page of a paginated
+     * pane, the state of a toggle button or the value of a slider, are kept per viewer. If they are, every viewer gets
+     * its own inventory, into which this gui is rendered with the state of that viewer, and a click changes the state
+     * of the viewer that clicked only. This allows a single gui to be shown to many viewers without copying it per
+     * viewer, while each viewer can still page through it on their own. Updating this gui renders it once for each
+     * viewer.
+     *
+     * As with {@link #setOverlay(Function) overlays}, only gui types which are opened as a regular inventory support
+     * this; other gui types ignore it. This is taken into account the next time this gui is shown.
+     *
+     * @param perViewerState whether the state should be kept per viewer
+     * @since 0.9.9
+     */
+    public void setPerViewerState(boolean perViewerState) {
+        this.perViewerState = perViewerState;
+    }
+
+    /**
+     * Gets whether the view states of the panes of this gui are kept per viewer, see
+     * {@link #setPerViewerState(boolean)}
+     *
+     * @return true if the state is kept per viewer, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public boolean isPerViewerState() {
+        return perViewerState;
+    }
+
+    /**
+     * Gets the viewer whose {@link ViewState view states} should be used while handling an event of the specified
+     * human entity. This is the human entity itself if the state is kept per viewer and the human entity has its own
+     * inventory, or null if the shared state should be used.
+     *
+     * @param humanEntity the human entity
+     * @return the viewer or null to use the shared state
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    public HumanEntity getStateViewer(@NotNull HumanEntity humanEntity) {
+        return perViewerState && viewerFrames.containsKey(humanEntity) ? humanEntity : null;
+    }
+
+    /**
+     * Sets the overlay of this gui. The overlay provides, for a given viewer, the items that only this viewer should
+     * see, keyed by the slot of the top inventory they should be placed in. The rest of the gui is rendered once and
+     * shared by all viewers, so a gui which only differs in a few slots per viewer doesn't need to be copied per
+     * viewer. Every viewer gets its own inventory, which is composed of the shared items and the items of the overlay.
+     * The overlay is applied again whenever this gui is {@link #update() updated}.
+     *
+     * Clicking an item of the overlay calls the action of that item, instead of the click being handled by the panes
+     * of this gui. Only gui types which are opened as a regular inventory support overlays; anvil, beacon, cartography
+     * table, enchanting table, grindstone, smithing table and stonecutter guis ignore it. The overlay is taken into
+     * account the next time this gui is shown.
+     *
+     * @param overlay the overlay or null to remove the overlay
+     * @since 0.9.9
+     */
+    public void setOverlay(@Nullable Function<? super HumanEntity, ? extends Map<Integer, GuiItem>> overlay) {
+        this.overlay = overlay;
+    }
+
+    /**
+     * Gets the overlay of this gui, see {@link #setOverlay(Function)}
+     *
+     * @return the overlay or null if there is no overlay
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Function<? super HumanEntity, ? extends Map<Integer, GuiItem>> getOverlay() {
+        return overlay;
+    }
+
+    /**
+     * Calls the action of the overlay item that was clicked, if the click happened on an item of the overlay of the
+     * human entity that clicked.
+     *
+     * @param event the click event
+     * @return true if an overlay item was clicked, false otherwise
+     * @since 0.9.9
+     */
+    public boolean clickOverlay(@NotNull InventoryClickEvent event) {
+        ViewerFrame frame = viewerFrames.get(event.getWhoClicked());
+
+        if (frame == null || frame.inventory != event.getInventory() || event.getRawSlot() != event.getSlot()) {
+            return false;
+        }
+
+        GuiItem item = frame.items.get(event.getRawSlot());
+
+        if (item == null || !item.isVisible()) {
+            return false;
+        }
+
+        item.callAction(event);
+
+        return true;
+    }
+
+    /**
+     * Adds the specified inventory and gui, so we can properly intercept clicks. Inventories created through
+     * {@link #getInventory()} and the inventories of viewers are added automatically.
      *
      * @param inventory the inventory for the specified gui
      * @param gui the gui belonging to the specified inventory
@@ -285,8 +1000,22 @@ public abstract class Gui implements InventoryHolder {
     }
 
     /**
-     * Gets a gui from the specified inventory. Only guis of type beacon, brewing stand, dispenser, dropper, furnace and
-     * hopper can be retrieved.
+     * Adds the top inventory the specified human entity has open for this gui, so we can properly intercept clicks.
+     * Guis which are opened through a container of their own, like anvils, call this after opening it, since the
+     * inventory of that container is not the one created by this gui. The container keeps its inventory for as long as
+     * it is open, so this only has to be done once per opening.
+     *
+     * @param humanEntity the human entity which has this gui open
+     * @since 0.9.9
+     */
+    protected void addOpenInventory(@NotNull HumanEntity humanEntity) {
+        addInventory(humanEntity.getOpenInventory().getTopInventory(), this);
+    }
+
+    /**
+     * Gets a gui from the specified inventory. Every inventory created by a gui can be retrieved, as well as the
+     * inventories of guis which are opened through a container of their own, like anvils, once they have been opened.
+     * This never asks the inventory for its holder, which may be expensive for inventories belonging to blocks.
      *
      * @param inventory the inventory to get the gui from
      * @return the gui or null if the inventory doesn't have an accompanying gui
@@ -607,11 +1336,25 @@ public abstract class Gui implements InventoryHolder {
     public Inventory getInventory() {
         if (this.inventory == null) {
             this.inventory = createInventory();
+
+            addInventory(inventory, this);
         }
 
         return inventory;
     }
 
+    /**
+     * Marks the items in the inventories of this gui as changed by the server, for example because a player took an
+     * item out of this gui in a click which wasn't cancelled. Updates only place the slots which changed since the
+     * previous frame, so the next update places all slots instead, restoring the items which were taken or moved. The
+     * gui listener calls this for every click and drag in this gui which isn't cancelled.
+     *
+     * @since 0.9.9
+     */
+    public void markInventoriesChanged() {
+        inventoriesChanged = true;
+    }
+
     /**
      * Gets whether this gui is being updated, as invoked by {@link #update()}. This returns true if this is the case
      * and false otherwise.
@@ -712,4 +1455,73 @@ public abstract class Gui implements InventoryHolder {
         registerGui("smoker", SmokerGui::load);
         registerGui("stonecutter", StonecutterGui::load);
     }
+
+    /**
+     * The inventory of a single viewer of a gui with an overlay or with per viewer state, together with the overlay items
+     * placed in it
+     *
+     * @since 0.9.9
+     */
+    private static final class ViewerFrame {
+
+        /**
+         * The viewer this frame belongs to
+         */
+        @NotNull
+        private final HumanEntity viewer;
+
+        /**
+         * The inventory of the viewer
+         */
+        @NotNull
+        private final Inventory inventory;
+
+        /**
+         * The items of the overlay for the viewer, keyed by slot
+         */
+        @NotNull
+        private Map<Integer, GuiItem> items;
+
+        private ViewerFrame(@NotNull HumanEntity viewer, @NotNull Inventory inventory,
+                            @NotNull Map<Integer, GuiItem> items) {
+            this.viewer = viewer;
+            this.inventory = inventory;
+            this.items = items;
+        }
+
+        /**
+         * Places the visible items of the overlay in the inventory of the viewer
+         *
+         * @since 0.9.9
+         */
+        private void place() {
+            for (Map.Entry<Integer, GuiItem> entry : items.entrySet()) {
+                GuiItem item = entry.getValue();
+
+                if (item.isVisible()) {
+                    inventory.setItem(entry.getKey(), item.getItem());
+                }
+            }
+        }
+
+        /**
+         * Places the visible items of the overlay in the specified slots in the inventory of the viewer
+         *
+         * @param slots the slots to place the items in
+         * @since 0.9.9
+         */
+        private void place(@NotNull BitSet slots) {
+            if (slots.isEmpty()) {
+                return;
+            }
+
+            for (Map.Entry<Integer, GuiItem> entry : items.entrySet()) {
+                GuiItem item = entry.getValue();
+
+                if (item.isVisible() && slots.get(entry.getKey())) {
+                    inventory.setItem(entry.getKey(), item.getItem());
+                }
+            }
+        }
+    }
 }
@@ -41,6 +41,8 @@ public abstract class NamedGui extends Gui {
     public Inventory getInventory() {
         if (this.inventory == null) {
             this.inventory = createInventory(getTitle());
+
+            addInventory(inventory, this);
         }
 
         return inventory;
@@ -65,6 +67,8 @@ public abstract class NamedGui extends Gui {
         this.inventory = createInventory(title);
         this.title = title;
 
+        addInventory(inventory, this);
+
         updating = true;
 
         for (HumanEntity viewer : viewers) {
@@ -0,0 +1,345 @@
+package plugily.projects.inventoryframework.gui.type.util;
+
+import plugily.projects.inventoryframework.gui.InventoryComponent;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Describes how the inventory components of a gui map onto the slots of its inventory. A layout consists of a number
+ * of regions, each of which is backed by one inventory component and covers a consecutive range of slots in the top
+ * inventory, followed by the player inventory. Guis of a certain type share a single layout and keep their components
+ * in an array created by {@link #createComponents()}, in which the components are ordered like the regions of this
+ * layout and the player inventory component comes last.
+ *
+ * Displaying, refreshing, clicking and copying are then handled by this layout for all gui types alike. Clicks are
+ * routed to the correct component via a table indexed by the raw slot, instead of a chain of range checks.
+ *
+ * @since 0.9.9
+ */
+public final class SlotLayout {
+
+    /**
+     * The name of the player inventory component, as used in XML files
+     */
+    @NotNull
+    private static final String PLAYER_INVENTORY_NAME = "player-inventory";
+
+    /**
+     * The regions of the top inventory, in the order of their components
+     */
+    @NotNull
+    private final Region @NotNull [] regions;
+
+    /**
+     * For every slot of the top inventory, the index of the region covering it, or -1 if no region covers it
+     */
+    @NotNull
+    private final int[] regionBySlot;
+
+    /**
+     * The size of the top inventory, which is the raw slot at which the player inventory starts
+     */
+    private final int topSize;
+
+    /**
+     * Creates a new layout consisting of the specified regions and a player inventory
+     *
+     * @param regions the regions of the top inventory
+     * @throws IllegalArgumentException when two regions overlap
+     * @since 0.9.9
+     */
+    public SlotLayout(@NotNull Region @NotNull ... regions) {
+        this.regions = regions.clone();
+
+        int topSize = 0;
+
+        for (Region region : regions) {
+            topSize = Math.max(topSize, region.slot + region.getSize());
+        }
+
+        this.topSize = topSize;
+        this.regionBySlot = new int[topSize];
+
+        Arrays.fill(regionBySlot, -1);
+
+        for (int index = 0; index < regions.length; index++) {
+            Region region = regions[index];
+
+            for (int slot = region.slot; slot < region.slot + region.getSize(); slot++) {
+                if (regionBySlot[slot] != -1) {
+                    throw new IllegalArgumentException("Region " + region.name + " overlaps another region");
+                }
+
+                regionBySlot[slot] = index;
+            }
+        }
+    }
+
+    /**
+     * Creates new, empty components for this layout. The returned array contains one component per region, in the
+     * order of the regions, followed by the player inventory component.
+     *
+     * @return the components
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public InventoryComponent @NotNull [] createComponents() {
+        InventoryComponent[] components = new InventoryComponent[regions.length + 1];
+
+        for (int index = 0; index < regions.length; index++) {
+            components[index] = new InventoryComponent(regions[index].length, regions[index].height);
+        }
+
+        components[regions.length] = new InventoryComponent(9, 4);
+
+        return components;
+    }
+
+    /**
+     * Displays the components of the regions of this layout in the specified inventory, each starting at the slot of
+     * its region, and renders the player inventory component. The player inventory component is placed into the
+     * inventory of a new viewer by {@link #showPlayerInventory(Gui, HumanEntity, InventoryComponent[])}; viewers which
+     * already have the gui open receive the slots of it which changed right away.
+     *
+     * @param gui the gui that is being shown
+     * @param inventory the top inventory to display the components in
+     * @param components the components of the gui
+     * @since 0.9.9
+     */
+    public void display(@NotNull Gui gui, @NotNull Inventory inventory,
+                        @NotNull InventoryComponent @NotNull [] components) {
+        for (int index = 0; index < regions.length; index++) {
+            components[index].display(inventory, regions[index].slot);
+        }
+
+        InventoryComponent playerInventoryComponent = getPlayerInventoryComponent(components);
+
+        playerInventoryComponent.display();
+
+        gui.refreshOpenPlayerInventories(playerInventoryComponent, 0, playerInventoryComponent.getHeight() - 1);
+    }
+
+    /**
+     * Places the rendered player inventory component in the inventory of the specified human entity. The human entity
+     * should already have been stored in the {@link plugily.projects.inventoryframework.HumanEntityCache} of the gui;
+     * if the player inventory component has no items, the stored inventory is forgotten again.
+     *
+     * @param gui the gui that is being shown
+     * @param humanEntity the human entity the gui is shown to
+     * @param components the components of the gui
+     * @since 0.9.9
+     */
+    public void showPlayerInventory(@NotNull Gui gui, @NotNull HumanEntity humanEntity,
+                                    @NotNull InventoryComponent @NotNull [] components) {
+        InventoryComponent playerInventoryComponent = getPlayerInventoryComponent(components);
+
+        if (playerInventoryComponent.hasItem()) {
+            humanEntity.getInventory().clear();
+
+            playerInventoryComponent.placeItems(humanEntity.getInventory(), 0);
+        } else {
+            gui.getHumanEntityCache().clearCache(humanEntity);
+        }
+    }
+
+    /**
+     * Renders the components of the regions of this layout and places the slots which changed in the inventory of the
+     * specified gui.
+     *
+     * @param gui the gui to refresh
+     * @param components the components of the gui
+     * @return the amount of slots which changed
+     * @since 0.9.9
+     */
+    public int refreshTop(@NotNull Gui gui, @NotNull InventoryComponent @NotNull [] components) {
+        int changedSlots = 0;
+
+        for (int index = 0; index < regions.length; index++) {
+            changedSlots += gui.refreshComponent(components[index], regions[index].slot);
+        }
+
+        return changedSlots;
+    }
+
+    /**
+     * Renders the player inventory component and places it in the inventories of all viewers of the specified gui.
+     *
+     * @param gui the gui to refresh
+     * @param components the components of the gui
+     * @since 0.9.9
+     */
+    public void refreshPlayerInventory(@NotNull Gui gui, @NotNull InventoryComponent @NotNull [] components) {
+        InventoryComponent playerInventoryComponent = getPlayerInventoryComponent(components);
+
+        gui.renderComponent(playerInventoryComponent);
+        gui.refreshPlayerInventories(playerInventoryComponent);
+    }
+
+    /**
+     * Routes the click to the component of the region containing the clicked slot. Clicks outside every region are
+     * routed to the player inventory component.
+     *
+     * @param gui the gui that was clicked
+     * @param event the click event
+     * @param components the components of the gui
+     * @since 0.9.9
+     */
+    public void click(@NotNull Gui gui, @NotNull InventoryClickEvent event,
+                      @NotNull InventoryComponent @NotNull [] components) {
+        int rawSlot = event.getRawSlot();
+        int region = rawSlot >= 0 && rawSlot < topSize ? regionBySlot[rawSlot] : -1;
+
+        if (region == -1) {
+            getPlayerInventoryComponent(components).click(gui, event, rawSlot - topSize);
+        } else {
+            components[region].click(gui, event, rawSlot - regions[region].slot);
+        }
+    }
+
+    /**
+     * Gets whether the player inventory component of the specified components has any items.
+     *
+     * @param components the components of the gui
+     * @return true if the player inventory is used, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public boolean isPlayerInventoryUsed(@NotNull InventoryComponent @NotNull [] components) {
+        return getPlayerInventoryComponent(components).hasItem();
+    }
+
+    /**
+     * Creates a copy of every one of the specified components.
+     *
+     * @param components the components to copy
+     * @return the copied components
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public InventoryComponent @NotNull [] copy(@NotNull InventoryComponent @NotNull [] components) {
+        InventoryComponent[] copies = new InventoryComponent[components.length];
+
+        for (int index = 0; index < components.length; index++) {
+            copies[index] = components[index].copy();
+        }
+
+        return copies;
+    }
+
+    /**
+     * Gets the component belonging to the region with the specified name. The player inventory component can be
+     * retrieved with the name "player-inventory".
+     *
+     * @param components the components of the gui
+     * @param name the name of the region
+     * @return the component or null if this layout has no region with the specified name
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    public InventoryComponent getComponent(@NotNull InventoryComponent @NotNull [] components, @NotNull String name) {
+        if (name.equals(PLAYER_INVENTORY_NAME)) {
+            return getPlayerInventoryComponent(components);
+        }
+
+        for (int index = 0; index < regions.length; index++) {
+            if (regions[index].name.equals(name)) {
+                return components[index];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the player inventory component of the specified components.
+     *
+     * @param components the components of the gui
+     * @return the player inventory component
+     * @since 0.9.9
+     */
+    @NotNull
+    @Contract(pure = true)
+    public InventoryComponent getPlayerInventoryComponent(@NotNull InventoryComponent @NotNull [] components) {
+        return components[regions.length];
+    }
+
+    /**
+     * Gets the size of the top inventory described by this layout
+     *
+     * @return the size of the top inventory
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public int getTopSize() {
+        return topSize;
+    }
+
+    /**
+     * A rectangular region of the top inventory which is backed by a single inventory component. The slots of the
+     * component are mapped in row-major order onto consecutive slots of the inventory, starting at the slot of the
+     * region.
+     *
+     * @since 0.9.9
+     */
+    public static final class Region {
+
+        /**
+         * The name of this region, as used for the component in XML files
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * The first slot of the top inventory covered by this region
+         */
+        private final int slot;
+
+        /**
+         * The length and height of the component backing this region
+         */
+        private final int length, height;
+
+        /**
+         * Creates a new region
+         *
+         * @param name the name of the region, as used for the component in XML files
+         * @param slot the first slot of the top inventory covered by this region
+         * @param length the length of the component backing this region
+         * @param height the height of the component backing this region
+         * @throws IllegalArgumentException when the slot is negative or the size isn't positive
+         * @since 0.9.9
+         */
+        public Region(@NotNull String name, int slot, int length, int height) {
+            if (slot < 0) {
+                throw new IllegalArgumentException("Slot of region must not be negative");
+            }
+
+            if (length <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Length and height of region must be greater than zero");
+            }
+
+            this.name = name;
+            this.slot = slot;
+            this.length = length;
+            this.height = height;
+        }
+
+        /**
+         * Gets the amount of slots covered by this region
+         *
+         * @return the size
+         * @since 0.9.9
+         */
+        @Contract(pure = true)
+        public int getSize() {
+            return length * height;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import plugily.projects.inventoryframework.exception.XMLLoadException;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -37,6 +38,12 @@ public class MasonryPane extends Pane implements Orientable {
     @NotNull
     private Orientation orientation = Orientation.HORIZONTAL;
 
+    /**
+     * The layout this pane was last displayed with, or null if this pane hasn't been displayed yet
+     */
+    @Nullable
+    private Layout layout;
+
     public MasonryPane(int x, int y, int length, int height, @NotNull Priority priority) {
         super(x, y, length, height, priority);
     }
@@ -55,93 +62,60 @@ public class MasonryPane extends Pane implements Orientable {
         int length = Math.min(this.length, maxLength) - paneOffsetX;
         int height = Math.min(this.height, maxHeight) - paneOffsetY;
 
-        int[][] positions = new int[length][height];
+        Layout layout = getLayout(length, height);
 
-        for (int[] array : positions) {
-            Arrays.fill(array, -1);
-        }
+        for (int paneIndex = 0; paneIndex < layout.panes.length; paneIndex++) {
+            //this pane didn't fit
+            if (layout.positions[paneIndex * 2] == -1) {
+                continue;
+            }
 
-        for (int paneIndex = 0; paneIndex < panes.size(); paneIndex++) {
-            Pane pane = panes.get(paneIndex);
+            layout.panes[paneIndex].display(
+                inventoryComponent,
+                paneOffsetX + getX(),
+                paneOffsetY + getY(),
+                Math.min(this.length, maxLength),
+                Math.min(this.height, maxHeight)
+            );
+        }
+    }
 
-            if (orientation == Orientation.HORIZONTAL) {
-                outerLoop:
-                for (int y = 0; y < height; y++) {
-                    for (int x = 0; x < length; x++) {
-                        //check whether the pane fits
-                        boolean fits = true;
-
-                        paneFits:
-                        for (int i = 0; i < pane.getLength(); i++) {
-                            for (int j = 0; j < pane.getHeight(); j++) {
-                                if (x + i >= positions.length || y + j >= positions[x + i].length || positions[x + i][y + j] != -1) {
-                                    fits = false;
-                                    break paneFits;
-                                }
-                            }
-                        }
+    /**
+     * Gets the layout of the panes for the specified area, reusing the previously computed layout if neither the
+     * panes, their sizes, their positions, the orientation nor the area have changed since. Only when a new layout is
+     * computed, the panes are moved to their positions in it.
+     *
+     * @param length the length of the area to lay the panes out in
+     * @param height the height of the area to lay the panes out in
+     * @return the layout
+     * @since 0.9.9
+     */
+    @NotNull
+    private Layout getLayout(int length, int height) {
+        Layout layout = this.layout;
 
-                        if (fits) {
-                            for (int i = 0; i < pane.getLength(); i++) {
-                                for (int j = 0; j < pane.getHeight(); j++) {
-                                    positions[x + i][y + j] = paneIndex;
-                                }
-                            }
+        if (layout != null && layout.matches(panes, orientation, length, height)) {
+            return layout;
+        }
 
-                            pane.setX(x);
-                            pane.setY(y);
-
-                            pane.display(
-                                inventoryComponent,
-                                paneOffsetX + getX(),
-                                paneOffsetY + getY(),
-                                Math.min(this.length, maxLength),
-                                Math.min(this.height, maxHeight)
-                            );
-                            break outerLoop;
-                        }
-                    }
-                }
-            } else if (orientation == Orientation.VERTICAL) {
-                outerLoop:
-                for (int x = 0; x < length; x++) {
-                    for (int y = 0; y < height; y++) {
-                        //check whether the pane fits
-                        boolean fits = true;
-
-                        paneFits:
-                        for (int i = 0; i < pane.getHeight(); i++) {
-                            for (int j = 0; j < pane.getLength(); j++) {
-                                if (x + j >= positions.length || y + i >= positions[x + j].length || positions[x + j][y + i] != -1) {
-                                    fits = false;
-                                    break paneFits;
-                                }
-                            }
-                        }
+        layout = new Layout(panes.toArray(new Pane[0]), orientation, length, height);
 
-                        if (fits) {
-                            for (int i = 0; i < pane.getLength(); i++) {
-                                for (int j = 0; j < pane.getHeight(); j++) {
-                                    positions[x + i][y + j] = paneIndex;
-                                }
-                            }
+        for (int paneIndex = 0; paneIndex < layout.panes.length; paneIndex++) {
+            int x = layout.positions[paneIndex * 2];
+            int y = layout.positions[paneIndex * 2 + 1];
 
-                            pane.setX(x);
-                            pane.setY(y);
-
-                            pane.display(
-                                inventoryComponent,
-                                paneOffsetX + getX(),
-                                paneOffsetY + getY(),
-                                Math.min(this.length, maxLength),
-                                Math.min(this.height, maxHeight)
-                            );
-                            break outerLoop;
-                        }
-                    }
-                }
+            //this pane didn't fit
+            if (x == -1) {
+                continue;
             }
+
+            layout.panes[paneIndex].setX(x);
+            layout.panes[paneIndex].setY(y);
         }
+
+        this.layout = layout;
+
+        return layout;
     }
 
     @Override
@@ -199,6 +173,8 @@ public class MasonryPane extends Pane implements Orientable {
      */
     public void addPane(@NotNull Pane pane) {
         panes.add(pane);
+
+        markModified();
     }
 
     @NotNull
@@ -223,6 +199,32 @@ public class MasonryPane extends Pane implements Orientable {
     @Override
     public void clear() {
         panes.clear();
+
+        markModified();
+    }
+
+    @Contract(pure = true)
+    @Override
+    public long getVersion() {
+        long version = super.getVersion();
+
+        for (Pane pane : panes) {
+            version = Math.max(version, pane.getVersion());
+        }
+
+        return version;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean isCacheable() {
+        for (Pane pane : panes) {
+            if (!pane.isCacheable()) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @NotNull
@@ -234,6 +236,215 @@ public class MasonryPane extends Pane implements Orientable {
     @Override
     public void setOrientation(@NotNull Orientation orientation) {
         this.orientation = orientation;
+
+        markModified();
+    }
+
+    /**
+     * The positions of the panes of a masonry pane, computed for a specific set of panes, their sizes, an orientation
+     * and the area they are laid out in. The panes are packed on a bit set of occupied cells, with one row of longs per
+     * row of the area, so checking whether a pane fits at a position takes a few bitwise operations per row.
+     *
+     * @since 0.9.9
+     */
+    private static final class Layout {
+
+        /**
+         * The inputs this layout was computed from. The sizes are stored as consecutive pairs of length and height.
+         */
+        @NotNull
+        private final Pane[] panes;
+        @NotNull
+        private final int[] sizes;
+        @NotNull
+        private final Orientation orientation;
+        private final int length, height;
+
+        /**
+         * The positions, as consecutive pairs of x and y coordinates per pane. Panes that don't fit are at -1, -1.
+         */
+        @NotNull
+        private final int[] positions;
+
+        private Layout(@NotNull Pane[] panes, @NotNull Orientation orientation, int length, int height) {
+            this.panes = panes;
+            this.sizes = new int[panes.length * 2];
+            this.orientation = orientation;
+            this.length = length;
+            this.height = height;
+
+            for (int index = 0; index < panes.length; index++) {
+                sizes[index * 2] = panes[index].getLength();
+                sizes[index * 2 + 1] = panes[index].getHeight();
+            }
+
+            this.positions = computePositions();
+        }
+
+        /**
+         * Checks whether this layout was computed for the specified inputs and the panes which fit are still at their
+         * positions in this layout.
+         *
+         * @param panes the panes to lay out
+         * @param orientation the orientation to lay the panes out in
+         * @param length the length of the area
+         * @param height the height of the area
+         * @return true if this layout can be used for these inputs, false otherwise
+         * @since 0.9.9
+         */
+        @Contract(pure = true)
+        private boolean matches(@NotNull List<Pane> panes, @NotNull Orientation orientation, int length,
+                                int height) {
+            if (this.orientation != orientation || this.length != length || this.height != height ||
+                this.panes.length != panes.size()) {
+                return false;
+            }
+
+            for (int index = 0; index < this.panes.length; index++) {
+                Pane pane = panes.get(index);
+
+                if (this.panes[index] != pane || sizes[index * 2] != pane.getLength() ||
+                    sizes[index * 2 + 1] != pane.getHeight()) {
+                    return false;
+                }
+
+                if (positions[index * 2] != -1 && (positions[index * 2] != pane.getX() ||
+                    positions[index * 2 + 1] != pane.getY())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Computes the positions of this layout. Every pane is put at the first position, in the order given by the
+         * orientation, where it fits without overlapping any of the panes before it.
+         *
+         * @return the positions
+         * @since 0.9.9
+         */
+        @NotNull
+        @Contract(pure = true)
+        private int[] computePositions() {
+            int[] positions = new int[panes.length * 2];
+
+            Arrays.fill(positions, -1);
+
+            if (length <= 0 || height <= 0) {
+                return positions;
+            }
+
+            int words = (length + Long.SIZE - 1) / Long.SIZE;
+            long[] occupied = new long[height * words];
+
+            for (int paneIndex = 0; paneIndex < panes.length; paneIndex++) {
+                int paneLength = sizes[paneIndex * 2];
+                int paneHeight = sizes[paneIndex * 2 + 1];
+
+                if (orientation == Orientation.HORIZONTAL) {
+                    outerLoop:
+                    for (int y = 0; y < height; y++) {
+                        for (int x = 0; x < length; x++) {
+                            if (fits(occupied, words, x, y, paneLength, paneHeight)) {
+                                occupy(occupied, words, x, y, paneLength, paneHeight);
+
+                                positions[paneIndex * 2] = x;
+                                positions[paneIndex * 2 + 1] = y;
+                                break outerLoop;
+                            }
+                        }
+                    }
+                } else if (orientation == Orientation.VERTICAL) {
+                    outerLoop:
+                    for (int x = 0; x < length; x++) {
+                        for (int y = 0; y < height; y++) {
+                            if (fits(occupied, words, x, y, paneLength, paneHeight)) {
+                                occupy(occupied, words, x, y, paneLength, paneHeight);
+
+                                positions[paneIndex * 2] = x;
+                                positions[paneIndex * 2 + 1] = y;
+                                break outerLoop;
+                            }
+                        }
+                    }
+                }
+            }
+
+            return positions;
+        }
+
+        /**
+         * Checks whether a pane of the specified size fits at the specified position without leaving the area of this
+         * layout or overlapping any occupied cell.
+         *
+         * @param occupied the occupied cells
+         * @param words the amount of longs per row
+         * @param x the x coordinate of the position
+         * @param y the y coordinate of the position
+         * @param paneLength the length of the pane
+         * @param paneHeight the height of the pane
+         * @return true if the pane fits, false otherwise
+         * @since 0.9.9
+         */
+        @Contract(pure = true)
+        private boolean fits(@NotNull long[] occupied, int words, int x, int y, int paneLength, int paneHeight) {
+            if (paneLength <= 0 || paneHeight <= 0) {
+                return true;
+            }
+
+            if (x + paneLength > length || y + paneHeight > height) {
+                return false;
+            }
+
+            for (int row = y; row < y + paneHeight; row++) {
+                for (int word = x / Long.SIZE; word <= (x + paneLength - 1) / Long.SIZE; word++) {
+                    if ((occupied[row * words + word] & range(word, x, x + paneLength)) != 0) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Marks the cells covered by a pane of the specified size at the specified position as occupied.
+         *
+         * @param occupied the occupied cells
+         * @param words the amount of longs per row
+         * @param x the x coordinate of the position
+         * @param y the y coordinate of the position
+         * @param paneLength the length of the pane
+         * @param paneHeight the height of the pane
+         * @since 0.9.9
+         */
+        private static void occupy(@NotNull long[] occupied, int words, int x, int y, int paneLength,
+                                   int paneHeight) {
+            for (int row = y; row < y + paneHeight; row++) {
+                for (int word = x / Long.SIZE; word <= (x + paneLength - 1) / Long.SIZE; word++) {
+                    occupied[row * words + word] |= range(word, x, x + paneLength);
+                }
+            }
+        }
+
+        /**
+         * Gets the bits of the specified long of a row that lie within the specified columns.
+         *
+         * @param word the index of the long within the row
+         * @param from the first column, inclusive
+         * @param to the last column, exclusive
+         * @return the bits within the columns
+         * @since 0.9.9
+         */
+        @Contract(pure = true)
+        private static long range(int word, int from, int to) {
+            int start = Math.max(from - word * Long.SIZE, 0);
+            int end = Math.min(to - word * Long.SIZE, Long.SIZE);
+            long bits = end == Long.SIZE ? -1L : (1L << end) - 1;
+
+            return bits & (-1L << start);
+        }
     }
 
     /**
@@ -11,6 +11,7 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -28,6 +29,50 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
     @NotNull
     private final List<GuiItem> items;
 
+    /**
+     * A view of {@link #items} which marks this pane as modified whenever it is changed, so changes made via
+     * {@link #getItems()} are picked up the next time this pane is displayed
+     */
+    @NotNull
+    private final List<GuiItem> itemsView = new AbstractList<GuiItem>() {
+        @Override
+        public GuiItem get(int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public GuiItem set(int index, GuiItem item) {
+            GuiItem previous = items.set(index, item);
+
+            markModified();
+
+            return previous;
+        }
+
+        @Override
+        public void add(int index, GuiItem item) {
+            items.add(index, item);
+
+            modCount++;
+            markModified();
+        }
+
+        @Override
+        public GuiItem remove(int index) {
+            GuiItem previous = items.remove(index);
+
+            modCount++;
+            markModified();
+
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+    };
+
     /**
      * The orientation of the items in this pane
      */
@@ -60,6 +105,12 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
     @NotNull
     private Mask mask;
 
+    /**
+     * The slot sequence this pane was last displayed with, or null if this pane hasn't been displayed yet
+     */
+    @Nullable
+    private SlotSequence slotSequence;
+
     public OutlinePane(int x, int y, int length, int height, @NotNull Priority priority) {
         super(x, y, length, height, priority);
 
@@ -92,99 +143,67 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
         int length = Math.min(this.length, maxLength);
         int height = Math.min(this.height, maxHeight);
 
-        int x = 0, y = 0;
-
-        if (orientation == Orientation.HORIZONTAL) {
-            outerloop:
-            for (int rowIndex = 0; rowIndex < inventoryComponent.getHeight(); rowIndex++) {
-                boolean[] row = mask.getRow(rowIndex);
-
-                for (int columnIndex = 0; columnIndex < inventoryComponent.getLength(); columnIndex++) {
-                    if (!row[columnIndex]) {
-                        continue;
-                    }
-
-                    x = columnIndex;
-                    y = rowIndex;
-                    break outerloop;
-                }
-            }
-        } else if (orientation == Orientation.VERTICAL) {
-            outerloop:
-            for (int columnIndex = 0; columnIndex < inventoryComponent.getLength(); columnIndex++) {
-                boolean[] column = mask.getColumn(columnIndex);
-
-                for (int rowIndex = 0; rowIndex < inventoryComponent.getHeight(); rowIndex++) {
-                    if (!column[rowIndex]) {
-                        continue;
-                    }
+        int itemAmount = items.size();
 
-                    x = columnIndex;
-                    y = rowIndex;
-                    break outerloop;
-                }
-            }
+        if (itemAmount == 0) {
+            return;
         }
 
-        int itemAmount = items.size();
+        SlotSequence sequence = getSlotSequence(length, height, inventoryComponent.getLength(),
+            inventoryComponent.getHeight());
 
-        outerloop:
-        for (int i = 0; i < (doesRepeat() ? Math.max(mask.amountOfEnabledSlots(), inventoryComponent.getSize()) : itemAmount); i++) {
+        int[] positions = sequence.positions;
+        int itemLimit = doesRepeat() ? Math.max(sequence.enabledSlots, inventoryComponent.getSize()) : itemAmount;
+        int position = 0;
+
+        for (int i = 0; i < itemLimit && position < positions.length; i++) {
             GuiItem item = items.get(i % itemAmount);
 
             if (!item.isVisible())
                 continue;
 
-            int newX = x, newY = y;
-
-            if (flipHorizontally)
-                newX = length - x - 1;
+            int newX = positions[position];
+            int newY = positions[position + 1];
 
-            if (flipVertically)
-                newY = height - y - 1;
-
-            Map.Entry<Integer, Integer> coordinates = GeometryUtil.processClockwiseRotation(newX, newY, length, height,
-                    rotation);
-
-            newX = coordinates.getKey();
-            newY = coordinates.getValue();
+            position += 2;
 
             if (newX >= 0 && newX < length && newY >= 0 && newY < height) {
                 int finalRow = getY() + newY + paneOffsetY;
                 int finalColumn = getX() + newX + paneOffsetX;
 
-                inventoryComponent.setItem(item, finalColumn, finalRow);
+                inventoryComponent.setItem(item, getSlot(inventoryComponent, finalColumn, finalRow), this);
             }
+        }
+    }
 
-            int gapCount = gap;
-
-            do {
-                if (orientation == Orientation.HORIZONTAL) {
-                    x++;
-
-                    if (x >= length) {
-                        y++;
-                        x = 0;
-                    }
-                } else if (orientation == Orientation.VERTICAL) {
-                    y++;
+    /**
+     * Gets the slot sequence of this pane for the specified dimensions. The sequence is computed once and reused for as
+     * long as the mask, orientation, gap, rotation, flips and dimensions stay the same.
+     *
+     * @param length the length of this pane, limited by the maximum length it is displayed with
+     * @param height the height of this pane, limited by the maximum height it is displayed with
+     * @param componentLength the length of the inventory component this pane is displayed in
+     * @param componentHeight the height of the inventory component this pane is displayed in
+     * @return the slot sequence
+     * @since 0.9.9
+     */
+    @NotNull
+    private SlotSequence getSlotSequence(int length, int height, int componentLength, int componentHeight) {
+        SlotSequence sequence = this.slotSequence;
+
+        if (sequence != null && sequence.mask == mask && sequence.orientation == orientation && sequence.gap == gap &&
+            sequence.rotation == rotation && sequence.flipHorizontally == flipHorizontally &&
+            sequence.flipVertically == flipVertically && sequence.length == length && sequence.height == height &&
+            sequence.componentLength == componentLength && sequence.componentHeight == componentHeight) {
+            return sequence;
+        }
 
-                    if (y >= height) {
-                        x++;
-                        y = 0;
-                    }
-                }
+        sequence = new SlotSequence(mask, orientation, gap, rotation, flipHorizontally, flipVertically, length, height,
+            componentLength, componentHeight);
 
-                //stop the loop when there is no more space in the pane
-                if (x >= length || y >= height) {
-                    break outerloop;
-                }
+        this.slotSequence = sequence;
 
-                if (mask.isEnabled(x, y)) {
-                    gapCount--;
-                }
-            } while (gapCount >= 0);
-        }
+        return sequence;
     }
 
     @Override
@@ -212,7 +231,7 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
             return false;
         }
 
-        GuiItem item = findMatchingItem(items, itemStack);
+        GuiItem item = findClickedItem(items, inventoryComponent, slot, itemStack);
 
         if (item == null) {
             return false;
@@ -260,6 +279,8 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
         }
 
         this.rotation = rotation % 360;
+
+        markModified();
     }
 
     /**
@@ -270,6 +291,8 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
      */
     public void insertItem(@NotNull GuiItem item, int index) {
         items.add(index, item);
+
+        markModified();
     }
 
     /**
@@ -279,6 +302,8 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
      */
     public void addItem(@NotNull GuiItem item) {
         items.add(item);
+
+        markModified();
     }
 
     /**
@@ -289,11 +314,15 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
      */
     public void removeItem(@NotNull GuiItem item) {
         items.remove(item);
+
+        markModified();
     }
 
     @Override
     public void clear() {
         items.clear();
+
+        markModified();
     }
 
     /**
@@ -310,6 +339,8 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
         }
 
         this.mask = mask;
+
+        markModified();
     }
 
     @Override
@@ -329,11 +360,15 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
     @Override
     public void flipHorizontally(boolean flipHorizontally) {
         this.flipHorizontally = flipHorizontally;
+
+        markModified();
     }
 
     @Override
     public void flipVertically(boolean flipVertically) {
         this.flipVertically = flipVertically;
+
+        markModified();
     }
 
     /**
@@ -343,11 +378,15 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
      */
     public void setGap(int gap) {
         this.gap = gap;
+
+        markModified();
     }
 
     @Override
     public void setOrientation(@NotNull Orientation orientation) {
         this.orientation = orientation;
+
+        markModified();
     }
 
     /**
@@ -357,6 +396,14 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
      */
     public void setRepeat(boolean repeat) {
         this.repeat = repeat;
+
+        markModified();
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean isCacheable() {
+        return true;
     }
 
     @NotNull
@@ -389,7 +436,7 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
     @NotNull
     @Override
     public List<GuiItem> getItems() {
-        return items;
+        return itemsView;
     }
 
     /**
@@ -434,6 +481,187 @@ public class OutlinePane extends Pane implements Flippable, Orientable, Rotatabl
         return flipVertically;
     }
 
+    /**
+     * The positions in which an outline pane places its items, in order, together with the inputs they were computed
+     * from. The positions are computed by starting at the first enabled cell of the mask and stepping over the mask in
+     * the direction of the orientation, skipping as many enabled cells as the gap, until the pane runs out of space.
+     * Each position is flipped and rotated as the pane specifies. Positions may lie outside of the pane, in which case
+     * the item assigned to them is not displayed.
+     *
+     * @since 0.9.9
+     */
+    private static final class SlotSequence {
+
+        /**
+         * The inputs this sequence was computed from
+         */
+        @NotNull
+        private final Mask mask;
+        @NotNull
+        private final Orientation orientation;
+        private final int gap, rotation;
+        private final boolean flipHorizontally, flipVertically;
+        private final int length, height, componentLength, componentHeight;
+
+        /**
+         * The positions, as consecutive pairs of x and y coordinates relative to the pane
+         */
+        @NotNull
+        private final int[] positions;
+
+        /**
+         * The amount of enabled cells in the mask
+         */
+        private final int enabledSlots;
+
+        private SlotSequence(@NotNull Mask mask, @NotNull Orientation orientation, int gap, int rotation,
+                             boolean flipHorizontally, boolean flipVertically, int length, int height,
+                             int componentLength, int componentHeight) {
+            this.mask = mask;
+            this.orientation = orientation;
+            this.gap = gap;
+            this.rotation = rotation;
+            this.flipHorizontally = flipHorizontally;
+            this.flipVertically = flipVertically;
+            this.length = length;
+            this.height = height;
+            this.componentLength = componentLength;
+            this.componentHeight = componentHeight;
+
+            this.positions = computePositions();
+            this.enabledSlots = mask.amountOfEnabledSlots();
+        }
+
+        /**
+         * Computes the positions of this sequence.
+         *
+         * @return the positions
+         * @since 0.9.9
+         */
+        @NotNull
+        @Contract(pure = true)
+        private int[] computePositions() {
+            int scanLength = Math.min(componentLength, mask.getLength());
+            int scanHeight = Math.min(componentHeight, mask.getHeight());
+            int maskLength = mask.getLength();
+            int x = 0, y = 0;
+
+            if (orientation == Orientation.HORIZONTAL) {
+                for (int slot = mask.nextEnabledSlot(0); slot != -1 && slot / maskLength < scanHeight;
+                     slot = mask.nextEnabledSlot(slot + 1)) {
+                    if (slot % maskLength < scanLength) {
+                        x = slot % maskLength;
+                        y = slot / maskLength;
+                        break;
+                    }
+                }
+            } else if (orientation == Orientation.VERTICAL) {
+                outerloop:
+                for (int columnIndex = 0; columnIndex < scanLength; columnIndex++) {
+                    for (int rowIndex = 0; rowIndex < scanHeight; rowIndex++) {
+                        if (mask.isEnabled(columnIndex, rowIndex)) {
+                            x = columnIndex;
+                            y = rowIndex;
+                            break outerloop;
+                        }
+                    }
+                }
+            }
+
+            int[] transform = GeometryUtil.getTransformTable(length, height, rotation, flipHorizontally,
+                flipVertically);
+            int[] positions = new int[(Math.max(length * height, 0) + 1) * 2];
+            int size = 0;
+
+            while (true) {
+                if (x >= 0 && x < length && y >= 0 && y < height) {
+                    int index = (y * length + x) * 2;
+
+                    positions[size] = transform[index];
+                    positions[size + 1] = transform[index + 1];
+                } else {
+                    int flippedX = flipHorizontally ? length - x - 1 : x;
+                    int flippedY = flipVertically ? height - y - 1 : y;
+
+                    positions[size] = GeometryUtil.processClockwiseRotationX(flippedX, flippedY, length, height,
+                        rotation);
+                    positions[size + 1] = GeometryUtil.processClockwiseRotationY(flippedX, flippedY, length, height,
+                        rotation);
+                }
+
+                size += 2;
+
+                if (orientation == Orientation.HORIZONTAL) {
+                    int slot = skipEnabledSlots(x + 1 < length ? y * maskLength + x + 1 : (y + 1) * maskLength,
+                        gap + 1);
+
+                    //stop when there is no more space in the pane
+                    if (slot == -1) {
+                        return Arrays.copyOf(positions, size);
+                    }
+
+                    x = slot % maskLength;
+                    y = slot / maskLength;
+                    continue;
+                }
+
+                int gapCount = gap;
+
+                do {
+                    y++;
+
+                    if (y >= height) {
+                        x++;
+                        y = 0;
+                    }
+
+                    //stop when there is no more space in the pane
+                    if (x >= length || y >= height) {
+                        return Arrays.copyOf(positions, size);
+                    }
+
+                    if (mask.isEnabled(x, y)) {
+                        gapCount--;
+                    }
+                } while (gapCount >= 0);
+            }
+        }
+
+        /**
+         * Steps row by row over the enabled cells of the mask, starting at the specified slot of the mask, and returns
+         * the slot of the enabled cell at which the specified amount of enabled cells has been passed. Cells outside of
+         * the length and height of this sequence are skipped.
+         *
+         * @param slot the slot of the mask to start at, inclusive
+         * @param amount the amount of enabled cells to pass
+         * @return the slot of the mask, or -1 if the pane runs out of space first
+         * @since 0.9.9
+         */
+        @Contract(pure = true)
+        private int skipEnabledSlots(int slot, int amount) {
+            int maskLength = mask.getLength();
+
+            while (true) {
+                slot = mask.nextEnabledSlot(slot);
+
+                if (slot == -1 || slot / maskLength >= height) {
+                    return -1;
+                }
+
+                if (slot % maskLength >= length) {
+                    slot = (slot / maskLength + 1) * maskLength;
+                    continue;
+                }
+
+                if (--amount == 0) {
+                    return slot;
+                }
+
+                slot++;
+            }
+        }
+    }
+
     /**
      * Loads an outline pane from a given element
      *
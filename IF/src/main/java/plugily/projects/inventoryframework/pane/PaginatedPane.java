@@ -4,6 +4,7 @@ import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.Gui;
 import plugily.projects.inventoryframework.gui.GuiItem;
 import plugily.projects.inventoryframework.exception.XMLLoadException;
+import plugily.projects.inventoryframework.pane.util.ViewState;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -31,9 +32,10 @@ public class PaginatedPane extends Pane {
     private final Map<Integer, List<Pane>> panes = new HashMap<>();
 
     /**
-     * The current page
+     * The current page, which can differ per viewer
      */
-    private int page;
+    @NotNull
+    private ViewState<Integer> page = new ViewState<>(0);
 
     public PaginatedPane(int x, int y, int length, int height, @NotNull Priority priority) {
         super(x, y, length, height, priority);
@@ -48,12 +50,12 @@ public class PaginatedPane extends Pane {
     }
 
     /**
-     * Returns the current page
+     * Returns the current page. If a {@link ViewState#getViewer() viewer} is set, this is the page of that viewer.
      *
      * @return the current page
      */
     public int getPage() {
-        return page;
+        return page.get();
     }
 
     /**
@@ -77,17 +79,22 @@ public class PaginatedPane extends Pane {
         this.panes.get(page).add(pane);
 
         this.panes.get(page).sort(Comparator.comparing(Pane::getPriority));
+
+        markModified();
     }
 
     /**
-     * Sets the current displayed page
+     * Sets the current displayed page. If a {@link ViewState#getViewer() viewer} is set, only the page of that viewer
+     * is changed.
      *
      * @param page the page
      */
     public void setPage(int page) {
 		if (!panes.containsKey(page))
 			throw new ArrayIndexOutOfBoundsException("page outside range");
-		this.page = page;
+		this.page.set(page);
+
+        markModified();
     }
 
 	/**
@@ -183,7 +190,7 @@ public class PaginatedPane extends Pane {
     @Override
     public void display(@NotNull InventoryComponent inventoryComponent, int paneOffsetX, int paneOffsetY, int maxLength,
                         int maxHeight) {
-        List<Pane> panes = this.panes.get(page);
+        List<Pane> panes = this.panes.get(page.get());
 
         if (panes == null) {
             return;
@@ -220,7 +227,7 @@ public class PaginatedPane extends Pane {
 
         boolean success = false;
 
-        for (Pane pane : this.panes.getOrDefault(page, Collections.emptyList())) {
+        for (Pane pane : this.panes.getOrDefault(page.get(), Collections.emptyList())) {
             success = success || pane.click(gui, inventoryComponent, event, slot,paneOffsetX + getX(),
                 paneOffsetY + getY(), length, height);
         }
@@ -245,7 +252,7 @@ public class PaginatedPane extends Pane {
 
         paginatedPane.uuid = uuid;
 
-        paginatedPane.page = page;
+        paginatedPane.page = page.copy();
 
         return paginatedPane;
     }
@@ -299,6 +306,45 @@ public class PaginatedPane extends Pane {
     @Override
     public void clear() {
         panes.clear();
+
+        markModified();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Since only the current page is displayed, this also changes when a pane on the current page is modified, but not
+     * when a pane on another page is modified.
+     *
+     * @return the version of this pane
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    @Override
+    public long getVersion() {
+        long version = super.getVersion();
+
+        for (Pane pane : panes.getOrDefault(page.get(), Collections.emptyList())) {
+            version = Math.max(version, pane.getVersion());
+        }
+
+        return version;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean isCacheable() {
+        if (page.hasViewerValues()) {
+            return false;
+        }
+
+        for (Pane pane : panes.getOrDefault(page.get(), Collections.emptyList())) {
+            if (!pane.isCacheable()) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -29,6 +29,7 @@ import org.w3c.dom.NodeList;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -71,6 +72,18 @@ public abstract class Pane {
      */
     protected UUID uuid;
 
+    /**
+     * The counter from which the versions of all panes are taken. Since every modification takes a new value from this
+     * counter, a modified pane always has a higher version than any version that was observed before the modification.
+     */
+    @NotNull
+    private static final AtomicLong VERSION_COUNTER = new AtomicLong();
+
+    /**
+     * The version of this pane, which is renewed whenever this pane is modified, see {@link #getVersion()}
+     */
+    private long version = VERSION_COUNTER.incrementAndGet();
+
     /**
      * A map containing the mappings for properties for items
      */
@@ -154,7 +167,13 @@ public abstract class Pane {
      * @param length the new length
      */
     public void setLength(int length) {
+        if (this.length == length) {
+            return;
+        }
+
         this.length = length;
+
+        markModified();
     }
 
     /**
@@ -163,7 +182,13 @@ public abstract class Pane {
      * @param height the new height
      */
     public void setHeight(int height) {
+        if (this.height == height) {
+            return;
+        }
+
         this.height = height;
+
+        markModified();
     }
 
     /**
@@ -172,7 +197,13 @@ public abstract class Pane {
      * @param x the new x coordinate
      */
     public void setX(int x) {
+        if (this.x == x) {
+            return;
+        }
+
         this.x = x;
+
+        markModified();
     }
 
     /**
@@ -181,7 +212,13 @@ public abstract class Pane {
      * @param y the new y coordinate
      */
     public void setY(int y) {
+        if (this.y == y) {
+            return;
+        }
+
         this.y = y;
+
+        markModified();
     }
 
     /**
@@ -264,7 +301,13 @@ public abstract class Pane {
      * @param visible the pane's visibility
      */
     public void setVisible(boolean visible) {
+        if (this.visible == visible) {
+            return;
+        }
+
         this.visible = visible;
+
+        markModified();
     }
 
     /**
@@ -472,7 +515,7 @@ public abstract class Pane {
             }
         }
 
-        GuiItem item = new GuiItem(itemStack, action);
+        GuiItem item = GuiItem.owning(itemStack, action);
 
         if (element.hasAttribute("field"))
             XMLUtil.loadFieldAttribute(instance, element, item);
@@ -560,6 +603,63 @@ public abstract class Pane {
                 .findAny().orElse(null);
     }
 
+    /**
+     * Finds the {@link GuiItem} of this pane which was clicked in the specified slot of the provided inventory
+     * component. The inventory component remembers which gui item and which pane placed each slot when it was last
+     * displayed for the current viewer, see {@link InventoryComponent#getDisplayedPane(int)}, so this only checks
+     * whether the slot was placed by this pane, without reading the meta of the clicked item or searching the provided
+     * items. If the slot was placed by another pane, null is returned. If the inventory component doesn't know which
+     * pane placed the slot, this falls back to {@link #findMatchingItem(Collection, ItemStack)}.
+     *
+     * @param items the items of this pane, which are only searched if the inventory component can't tell
+     * @param inventoryComponent the inventory component that was clicked
+     * @param slot the slot that was clicked
+     * @param item the item that was clicked
+     * @return the found {@link GuiItem} or null if none was found
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    protected GuiItem findClickedItem(@NotNull Collection<? extends GuiItem> items,
+                                      @NotNull InventoryComponent inventoryComponent, int slot,
+                                      @NotNull ItemStack item) {
+        Pane pane = inventoryComponent.getDisplayedPane(slot);
+
+        if (pane == this) {
+            return inventoryComponent.getDisplayedItem(slot);
+        }
+
+        if (pane != null) {
+            return null;
+        }
+
+        return findMatchingItem(items, item);
+    }
+
+    /**
+     * Gets the slot of the specified position in the provided inventory component. Slots are counted in row-major
+     * order, as expected by {@link InventoryComponent#setItem(GuiItem, int)}. If the position is outside of the
+     * inventory component, an {@link IllegalArgumentException} will be thrown.
+     *
+     * @param inventoryComponent the inventory component
+     * @param x the x coordinate of the position
+     * @param y the y coordinate of the position
+     * @return the slot of the position
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    protected static int getSlot(@NotNull InventoryComponent inventoryComponent, int x, int y) {
+        int length = inventoryComponent.getLength();
+        int height = inventoryComponent.getHeight();
+
+        if (x < 0 || x >= length || y < 0 || y >= height) {
+            throw new IllegalArgumentException("Coordinates must be in-bounds: x = " + x + ", y = " + y +
+                "; should be below " + length + " and " + height);
+        }
+
+        return y * length + x;
+    }
+
     /**
      * Returns the priority of the pane
      *
@@ -609,6 +709,67 @@ public abstract class Pane {
         this.onClick = onClick;
     }
 
+    /**
+     * Gets the version of this pane. The version changes whenever this pane is modified in a way which may change what
+     * it displays, such as changing its position, size, visibility or items. Panes containing other panes also change
+     * their version whenever one of the contained panes is modified. Two equal versions of the same pane thus mean that
+     * the pane displays the same items in the same slots, as long as the pane is {@link #isCacheable() cacheable}.
+     *
+     * @return the version of this pane
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets whether every modification of this pane which may change what it displays is reflected in its
+     * {@link #getVersion() version}. Only the output of cacheable panes is cached by an {@link InventoryComponent}; other
+     * panes are displayed from scratch every time. Panes are not cacheable by default, so custom panes remain correct
+     * without any changes. A pane which overrides this to return true must call {@link #markModified()} whenever its
+     * state changes.
+     *
+     * @return true if this pane is cacheable, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Marks this pane as modified by giving it a new {@link #getVersion() version}, so its cached output will no longer
+     * be used.
+     *
+     * @since 0.9.9
+     */
+    protected void markModified() {
+        version = VERSION_COUNTER.incrementAndGet();
+    }
+
+    /**
+     * Invalidates the area this pane occupies in the specified inventory component and repaints the gui, so only the
+     * slots covered by this pane are rendered and sent again. The offsets and maximum sizes are the ones this pane was
+     * clicked with, as per {@link #click(Gui, InventoryComponent, InventoryClickEvent, int, int, int, int, int)}.
+     *
+     * @param gui the gui this pane is displayed in
+     * @param inventoryComponent the inventory component this pane is displayed in
+     * @param paneOffsetX the pane's offset on the x-axis
+     * @param paneOffsetY the pane's offset on the y-axis
+     * @param maxLength the maximum length of the pane
+     * @param maxHeight the maximum height of the pane
+     * @since 0.9.9
+     * @see Gui#repaint()
+     */
+    protected void repaint(@NotNull Gui gui, @NotNull InventoryComponent inventoryComponent, int paneOffsetX,
+                           int paneOffsetY, int maxLength, int maxHeight) {
+        inventoryComponent.invalidate(paneOffsetX + getX(), paneOffsetY + getY(), Math.min(length, maxLength),
+            Math.min(height, maxHeight));
+
+        gui.repaint();
+    }
+
     /**
      * Calls the consumer (if it's not null) that was specified using {@link #setOnClick(Consumer)},
      * so the consumer that should be called whenever this pane is clicked in.
@@ -7,9 +7,9 @@ import plugily.projects.inventoryframework.gui.type.util.Gui;
 import plugily.projects.inventoryframework.pane.util.Pattern;
 import plugily.projects.inventoryframework.util.GeometryUtil;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -36,6 +36,12 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
     @NotNull
     private final Map<Integer, GuiItem> bindings = new HashMap<>();
 
+    /**
+     * The bindings resolved for every cell of the pattern, indexed in row-major order. A cell whose character has no
+     * binding is null. This is null when the pattern or the bindings have changed since it was last compiled.
+     */
+    private GuiItem @Nullable [] compiledItems;
+
     /**
      * The amount of degrees this pane is rotated by. This will always be between [0,360) and a multiple of 90.
      */
@@ -109,34 +115,26 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
         int length = Math.min(this.length, maxLength);
         int height = Math.min(this.height, maxHeight);
 
+        int[] transform = GeometryUtil.getTransformTable(length, height, rotation, isFlippedHorizontally(),
+            isFlippedVertically());
+        GuiItem[] items = getCompiledItems();
+
         for (int x = 0; x < length; x++) {
             for (int y = 0; y < height; y++) {
-                GuiItem item = this.bindings.get(pattern.getCharacter(x, y));
+                GuiItem item = items[y * pattern.getLength() + x];
 
                 if (item == null || !item.isVisible()) {
                     continue;
                 }
 
-                int newX = x, newY = y;
-
-                if (isFlippedHorizontally()) {
-                    newX = length - x - 1;
-                }
-
-                if (isFlippedVertically()) {
-                    newY = height - y - 1;
-                }
-
-                Map.Entry<Integer, Integer> coordinates = GeometryUtil.processClockwiseRotation(newX, newY, length,
-                    height, rotation);
-
-                newX = coordinates.getKey();
-                newY = coordinates.getValue();
+                int index = (y * length + x) * 2;
+                int newX = transform[index];
+                int newY = transform[index + 1];
 
                 int finalRow = getY() + newY + paneOffsetY;
                 int finalColumn = getX() + newX + paneOffsetX;
 
-                inventoryComponent.setItem(item, finalColumn, finalRow);
+                inventoryComponent.setItem(item, getSlot(inventoryComponent, finalColumn, finalRow), this);
             }
         }
     }
@@ -160,13 +158,31 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
 
         callOnClick(event);
 
-        ItemStack itemStack = event.getCurrentItem();
-
-        if (itemStack == null) {
+        if (event.getCurrentItem() == null) {
             return false;
         }
 
-        GuiItem clickedItem = findMatchingItem(getItems(), itemStack);
+        int[] transform = GeometryUtil.getTransformTable(length, height, rotation, isFlippedHorizontally(),
+            isFlippedVertically());
+        GuiItem[] items = getCompiledItems();
+        GuiItem clickedItem = null;
+
+        //walk the cells in display order, so the last cell rendered on this position is the one that was clicked
+        for (int cellX = 0; cellX < length; cellX++) {
+            for (int cellY = 0; cellY < height; cellY++) {
+                int index = (cellY * length + cellX) * 2;
+
+                if (transform[index] != x || transform[index + 1] != y) {
+                    continue;
+                }
+
+                GuiItem item = items[cellY * pattern.getLength() + cellX];
+
+                if (item != null && item.isVisible()) {
+                    clickedItem = item;
+                }
+            }
+        }
 
         if (clickedItem == null) {
             return false;
@@ -206,6 +222,8 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
         }
 
         this.rotation = rotation % 360;
+
+        markModified();
     }
 
     /**
@@ -246,6 +264,9 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
         }
 
         this.pattern = pattern;
+        this.compiledItems = null;
+
+        markModified();
     }
 
     @Override
@@ -253,6 +274,7 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
         super.setHeight(height);
 
         this.pattern = this.pattern.setHeight(height);
+        this.compiledItems = null;
     }
 
     @Override
@@ -260,6 +282,7 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
         super.setLength(length);
 
         this.pattern = this.pattern.setLength(length);
+        this.compiledItems = null;
     }
 
     /**
@@ -272,6 +295,9 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
      */
     public void bindItem(char character, @NotNull GuiItem item) {
         this.bindings.put((int) character, item);
+        this.compiledItems = null;
+
+        markModified();
     }
 
     /**
@@ -285,21 +311,67 @@ public class PatternPane extends Pane implements Flippable, Rotatable {
      */
     public void bindItem(int character, @NotNull GuiItem item) {
         this.bindings.put(character, item);
+        this.compiledItems = null;
+
+        markModified();
     }
 
     @Override
     public void clear() {
         this.bindings.clear();
+        this.compiledItems = null;
+
+        markModified();
     }
 
     @Override
     public void flipHorizontally(boolean flipHorizontally) {
         this.flippedHorizontally = flipHorizontally;
+
+        markModified();
     }
 
     @Override
     public void flipVertically(boolean flipVertically) {
         this.flippedVertically = flipVertically;
+
+        markModified();
+    }
+
+    /**
+     * Gets the bindings resolved for every cell of the pattern, compiling them first if the pattern or the bindings
+     * have changed since they were last compiled. The returned array is indexed in row-major order and should not be
+     * modified.
+     *
+     * @return the item bound to each cell of the pattern
+     * @since 0.9.9
+     */
+    private GuiItem @NotNull [] getCompiledItems() {
+        if (this.compiledItems != null) {
+            return this.compiledItems;
+        }
+
+        int length = pattern.getLength();
+        int height = pattern.getHeight();
+        GuiItem[] items = new GuiItem[length * height];
+
+        for (int y = 0; y < height; y++) {
+            int[] row = pattern.getRow(y);
+
+            for (int x = 0; x < length; x++) {
+                items[y * length + x] = bindings.get(row[x]);
+            }
+        }
+
+        this.compiledItems = items;
+
+        return items;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean isCacheable() {
+        return true;
     }
 
     @NotNull
@@ -23,11 +23,91 @@ import java.util.function.Consumer;
 public class StaticPane extends Pane implements Flippable, Rotatable {
 
 	/**
-	 * A map of locations inside this pane and their item. The locations are stored in a way where the x coordinate is
-     * the key and the y coordinate is the value.
+	 * The items of this pane, indexed by their position in row-major order. Positions without an item are null. The
+	 * length of this array is always the length of this pane multiplied by its height.
+	 */
+	private GuiItem @NotNull [] items;
+
+	/**
+	 * Items which were placed at a position outside the bounds of this pane. These are kept separately, so they are
+	 * still present when the pane is resized to include their position. This is null when there are no such items.
+	 */
+	@Nullable
+	private Map<Map.Entry<Integer, Integer>, GuiItem> outOfBoundsItems;
+
+	/**
+	 * A view of {@link #items} and {@link #outOfBoundsItems} which marks this pane as modified whenever an item is
+	 * removed from it, so changes made via {@link #getItems()} are picked up the next time this pane is displayed
 	 */
 	@NotNull
-	private final Map<Map.Entry<Integer, Integer>, GuiItem> items;
+	private final Collection<GuiItem> itemsView = new AbstractCollection<GuiItem>() {
+		@NotNull
+		@Override
+		public Iterator<GuiItem> iterator() {
+			return new Iterator<GuiItem>() {
+				private final GuiItem[] slots = items;
+				private int nextIndex = nextOccupiedIndex(slots, 0);
+				private int lastIndex = -1;
+				@Nullable
+				private Iterator<GuiItem> outOfBoundsIterator;
+
+				@Override
+				public boolean hasNext() {
+					return nextIndex < slots.length || getOutOfBoundsIterator().hasNext();
+				}
+
+				@Override
+				public GuiItem next() {
+					if (nextIndex < slots.length) {
+						lastIndex = nextIndex;
+						nextIndex = nextOccupiedIndex(slots, nextIndex + 1);
+
+						return slots[lastIndex];
+					}
+
+					lastIndex = -1;
+
+					return getOutOfBoundsIterator().next();
+				}
+
+				@Override
+				public void remove() {
+					if (lastIndex >= 0) {
+						slots[lastIndex] = null;
+						lastIndex = -1;
+					} else {
+						getOutOfBoundsIterator().remove();
+					}
+
+					markModified();
+				}
+
+				@NotNull
+				private Iterator<GuiItem> getOutOfBoundsIterator() {
+					if (outOfBoundsIterator == null) {
+						outOfBoundsIterator = outOfBoundsItems == null
+							? Collections.emptyIterator()
+							: outOfBoundsItems.values().iterator();
+					}
+
+					return outOfBoundsIterator;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			int size = outOfBoundsItems == null ? 0 : outOfBoundsItems.size();
+
+			for (GuiItem item : items) {
+				if (item != null) {
+					size++;
+				}
+			}
+
+			return size;
+		}
+	};
 
 	/**
 	 * The clockwise rotation of this pane in degrees
@@ -42,7 +122,7 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
     public StaticPane(int x, int y, int length, int height, @NotNull Priority priority) {
         super(x, y, length, height, priority);
 
-        this.items = new HashMap<>(length * height);
+		this.items = new GuiItem[length * height];
     }
 
 	public StaticPane(int x, int y, int length, int height) {
@@ -59,34 +139,80 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
 		int length = Math.min(this.length, maxLength);
 		int height = Math.min(this.height, maxHeight);
 
-		items.entrySet().stream().filter(entry -> entry.getValue().isVisible()).forEach(entry -> {
+		int[] transform = GeometryUtil.getTransformTable(length, height, rotation, flipHorizontally,
+			flipVertically);
+
+		for (int index = 0; index < items.length; index++) {
+			GuiItem item = items[index];
+
+			if (item == null || !item.isVisible()) {
+				continue;
+			}
+
+			displayItem(inventoryComponent, item, index % this.length, index / this.length, length, height,
+				transform, paneOffsetX, paneOffsetY);
+		}
+
+		if (outOfBoundsItems == null) {
+			return;
+		}
+
+		for (Map.Entry<Map.Entry<Integer, Integer>, GuiItem> entry : outOfBoundsItems.entrySet()) {
+			GuiItem item = entry.getValue();
+
+			if (!item.isVisible()) {
+				continue;
+			}
+
 			Map.Entry<Integer, Integer> location = entry.getKey();
 
-			int x = location.getKey(), y = location.getValue();
+			displayItem(inventoryComponent, item, location.getKey(), location.getValue(), length, height, transform,
+				paneOffsetX, paneOffsetY);
+		}
+	}
 
+	/**
+	 * Displays a single item of this pane at its position after flipping and rotating it. Items which end up outside
+	 * the displayed area are skipped.
+	 *
+	 * @param inventoryComponent the inventory component to display the item in
+	 * @param item the item to display
+	 * @param x the x coordinate of the item within this pane
+	 * @param y the y coordinate of the item within this pane
+	 * @param length the displayed length of this pane
+	 * @param height the displayed height of this pane
+	 * @param transform the transform table for the displayed length and height of this pane
+	 * @param paneOffsetX the x offset of this pane
+	 * @param paneOffsetY the y offset of this pane
+	 */
+	private void displayItem(@NotNull InventoryComponent inventoryComponent, @NotNull GuiItem item, int x, int y,
+							 int length, int height, int @NotNull [] transform, int paneOffsetX, int paneOffsetY) {
+		if (x >= 0 && x < length && y >= 0 && y < height) {
+			int index = (y * length + x) * 2;
+
+			x = transform[index];
+			y = transform[index + 1];
+		} else {
 			if (flipHorizontally)
 				x = length - x - 1;
 
 			if (flipVertically)
 				y = height - y - 1;
 
-			Map.Entry<Integer, Integer> coordinates = GeometryUtil.processClockwiseRotation(x, y, length, height,
-				rotation);
+			int rotatedX = GeometryUtil.processClockwiseRotationX(x, y, length, height, rotation);
 
-			x = coordinates.getKey();
-			y = coordinates.getValue();
-
-			if (x < 0 || x >= length || y < 0 || y >= height) {
-			    return;
-            }
+			y = GeometryUtil.processClockwiseRotationY(x, y, length, height, rotation);
+			x = rotatedX;
+		}
 
-			GuiItem item = entry.getValue();
+		if (x < 0 || x >= length || y < 0 || y >= height) {
+			return;
+		}
 
-			int finalRow = getY() + y + paneOffsetY;
-			int finalColumn = getX() + x + paneOffsetX;
+		int finalRow = getY() + y + paneOffsetY;
+		int finalColumn = getX() + x + paneOffsetX;
 
-			inventoryComponent.setItem(item, finalColumn, finalRow);
-		});
+		inventoryComponent.setItem(item, getSlot(inventoryComponent, finalColumn, finalRow), this);
 	}
 
 	/**
@@ -98,9 +224,9 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
      * @param y    the y coordinate of the position of the item
 	 */
 	public void addItem(@NotNull GuiItem item, int x, int y) {
-	    items.keySet().removeIf(entry -> entry.getKey() == x && entry.getValue() == y);
+		putItem(item, x, y);
 
-		items.put(new AbstractMap.SimpleEntry<>(x, y), item);
+		markModified();
 	}
 
     /**
@@ -110,7 +236,35 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
      * @since 0.5.8
      */
     public void removeItem(@NotNull GuiItem item) {
-        items.values().removeIf(guiItem -> guiItem.equals(item));
+		for (int index = 0; index < items.length; index++) {
+			if (item.equals(items[index])) {
+				items[index] = null;
+			}
+		}
+
+		if (outOfBoundsItems != null) {
+			outOfBoundsItems.values().removeIf(guiItem -> guiItem.equals(item));
+		}
+
+		markModified();
+	}
+
+	/**
+	 * Removes the item at the specified position from the pane. If there is no item at this position, this does
+	 * nothing.
+	 *
+	 * @param x the x coordinate of the item to remove
+	 * @param y the y coordinate of the item to remove
+	 * @since 0.9.9
+	 */
+	public void removeItem(int x, int y) {
+		if (isInBounds(x, y)) {
+			items[y * length + x] = null;
+		} else if (outOfBoundsItems != null) {
+			outOfBoundsItems.remove(new AbstractMap.SimpleEntry<>(x, y));
+		}
+
+		markModified();
     }
 
 	@Override
@@ -138,7 +292,7 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
             return false;
         }
 
-        GuiItem clickedItem = findMatchingItem(items.values(), itemStack);
+		GuiItem clickedItem = findClickedItem(itemsView, inventoryComponent, slot, itemStack);
 
         if (clickedItem == null) {
             return false;
@@ -155,10 +309,20 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
     public StaticPane copy() {
         StaticPane staticPane = new StaticPane(x, y, length, height, getPriority());
 
-        for (Map.Entry<Map.Entry<Integer, Integer>, GuiItem> entry : items.entrySet()) {
-            Map.Entry<Integer, Integer> coordinates = entry.getKey();
+		for (int index = 0; index < items.length; index++) {
+			GuiItem item = items[index];
+
+			if (item != null) {
+				staticPane.items[index] = item.copy();
+			}
+		}
+
+		if (outOfBoundsItems != null) {
+			for (Map.Entry<Map.Entry<Integer, Integer>, GuiItem> entry : outOfBoundsItems.entrySet()) {
+				Map.Entry<Integer, Integer> coordinates = entry.getKey();
 
-            staticPane.addItem(entry.getValue().copy(), coordinates.getKey(), coordinates.getValue());
+				staticPane.addItem(entry.getValue().copy(), coordinates.getKey(), coordinates.getValue());
+			}
         }
 
         staticPane.setVisible(isVisible());
@@ -183,6 +347,8 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
 		}
 
 		this.rotation = rotation % 360;
+
+		markModified();
 	}
 
 	/**
@@ -193,21 +359,9 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
      * @since 0.5.9
 	 */
 	public void fillWith(@NotNull ItemStack itemStack, @Nullable Consumer<InventoryClickEvent> action) {
-		//The non empty spots
-		Set<Map.Entry<Integer, Integer>> locations = this.items.keySet();
-
 		for (int y = 0; y < this.getHeight(); y++) {
 			for (int x = 0; x < this.getLength(); x++) {
-				boolean found = false;
-
-				for (Map.Entry<Integer, Integer> location : locations) {
-					if (location.getKey() == x && location.getValue() == y) {
-						found = true;
-						break;
-					}
-				}
-
-				if (!found) {
+				if (this.items[y * this.getLength() + x] == null) {
 					this.addItem(new GuiItem(itemStack, action), x, y);
 				}
 			}
@@ -228,12 +382,124 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
 	@NotNull
 	@Override
 	public Collection<GuiItem> getItems() {
-		return items.values();
+		return itemsView;
 	}
 
     @Override
     public void clear() {
-        items.clear();
+		Arrays.fill(items, null);
+		outOfBoundsItems = null;
+
+		markModified();
+	}
+
+	@Override
+	public void setLength(int length) {
+		int oldLength = this.length;
+
+		super.setLength(length);
+
+		resize(oldLength, this.height);
+	}
+
+	@Override
+	public void setHeight(int height) {
+		int oldHeight = this.height;
+
+		super.setHeight(height);
+
+		resize(this.length, oldHeight);
+	}
+
+	/**
+	 * Reallocates the item storage after this pane changed size. Every item is moved to the same position in the new
+	 * storage; items that are now outside the bounds of this pane are kept aside until the pane grows again.
+	 *
+	 * @param oldLength the length of this pane before it was resized
+	 * @param oldHeight the height of this pane before it was resized
+	 */
+	private void resize(int oldLength, int oldHeight) {
+		if (oldLength == length && oldHeight == height) {
+			return;
+		}
+
+		GuiItem[] oldItems = items;
+		Map<Map.Entry<Integer, Integer>, GuiItem> oldOutOfBoundsItems = outOfBoundsItems;
+
+		items = new GuiItem[length * height];
+		outOfBoundsItems = null;
+
+		for (int index = 0; index < oldItems.length; index++) {
+			GuiItem item = oldItems[index];
+
+			if (item != null) {
+				putItem(item, index % oldLength, index / oldLength);
+			}
+		}
+
+		if (oldOutOfBoundsItems != null) {
+			for (Map.Entry<Map.Entry<Integer, Integer>, GuiItem> entry : oldOutOfBoundsItems.entrySet()) {
+				Map.Entry<Integer, Integer> location = entry.getKey();
+
+				putItem(entry.getValue(), location.getKey(), location.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Stores the item at the specified position, replacing any item that was already there. This does not mark the
+	 * pane as modified.
+	 *
+	 * @param item the item to store
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 */
+	private void putItem(@NotNull GuiItem item, int x, int y) {
+		if (isInBounds(x, y)) {
+			items[y * length + x] = item;
+
+			return;
+		}
+
+		if (outOfBoundsItems == null) {
+			outOfBoundsItems = new HashMap<>();
+		}
+
+		outOfBoundsItems.put(new AbstractMap.SimpleEntry<>(x, y), item);
+	}
+
+	/**
+	 * Gets whether the specified position lies within the bounds of this pane.
+	 *
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return true if the position is within this pane, false otherwise
+	 */
+	@Contract(pure = true)
+	private boolean isInBounds(int x, int y) {
+		return x >= 0 && x < length && y >= 0 && y < height;
+	}
+
+	/**
+	 * Gets the index of the first non-null element of the array at or after the given index.
+	 *
+	 * @param items the array to search
+	 * @param index the index to start searching from
+	 * @return the index of the next non-null element, or the length of the array if there is none
+	 */
+	@Contract(pure = true)
+	private static int nextOccupiedIndex(@Nullable GuiItem @NotNull [] items, int index) {
+		while (index < items.length && items[index] == null) {
+			index++;
+		}
+
+		return index;
+	}
+
+	@Contract(pure = true)
+	@Override
+	public boolean isCacheable() {
+		return true;
     }
 
 	@NotNull
@@ -246,11 +512,15 @@ public class StaticPane extends Pane implements Flippable, Rotatable {
 	@Override
 	public void flipHorizontally(boolean flipHorizontally) {
 		this.flipHorizontally = flipHorizontally;
+
+		markModified();
 	}
 
 	@Override
 	public void flipVertically(boolean flipVertically) {
 		this.flipVertically = flipVertically;
+
+		markModified();
 	}
 
 	@Contract(pure = true)
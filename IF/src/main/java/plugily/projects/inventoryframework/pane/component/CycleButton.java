@@ -67,13 +67,15 @@ public class CycleButton extends Pane {
             position = 0;
         }
 
+        markModified();
+
         callOnClick(event);
 
         Pane pane = panes.get(position);
         pane.click(gui, inventoryComponent, event, slot, paneOffsetX + x, paneOffsetY + y,
             length, height);
 
-        gui.update();
+        repaint(gui, inventoryComponent, paneOffsetX, paneOffsetY, maxLength, maxHeight);
 
         return true;
     }
@@ -125,6 +127,8 @@ public class CycleButton extends Pane {
      */
     public void addPane(int index, @NotNull Pane pane) {
         panes.add(index, pane);
+
+        markModified();
     }
 
     /**
@@ -135,11 +139,27 @@ public class CycleButton extends Pane {
      */
     public void addPane(@NotNull Pane pane) {
         panes.add(pane);
+
+        markModified();
     }
 
     @Override
     public void clear() {
         panes.clear();
+
+        markModified();
+    }
+
+    @Contract(pure = true)
+    @Override
+    public long getVersion() {
+        long version = super.getVersion();
+
+        for (Pane pane : panes) {
+            version = Math.max(version, pane.getVersion());
+        }
+
+        return version;
     }
 
     @NotNull
@@ -155,6 +175,8 @@ public class CycleButton extends Pane {
      */
     public void cycle() {
         position++;
+
+        markModified();
     }
 
     /**
@@ -55,9 +55,7 @@ public class PercentageBar extends VariableBar {
         int newPaneOffsetY = paneOffsetY + getY();
 
 
-        return this.fillPane.click(
-            gui, inventoryComponent, event, slot, newPaneOffsetX, newPaneOffsetY, length, height
-        ) || this.backgroundPane.click(
+        return clickParts(
             gui, inventoryComponent, event, slot, newPaneOffsetX, newPaneOffsetY, length, height
         );
     }
@@ -93,7 +91,7 @@ public class PercentageBar extends VariableBar {
      * @since 0.5.0
      */
     public float getPercentage() {
-        return value;
+        return value.get();
     }
 
     /**
@@ -60,13 +60,11 @@ public class Slider extends VariableBar {
         int newPaneOffsetX = paneOffsetX + getX();
         int newPaneOffsetY = paneOffsetY + getY();
 
-        boolean success = this.fillPane.click(
-            gui, inventoryComponent, event, slot, newPaneOffsetX, newPaneOffsetY, length, height
-        ) || this.backgroundPane.click(
+        boolean success = clickParts(
             gui, inventoryComponent, event, slot, newPaneOffsetX, newPaneOffsetY, length, height
         );
 
-        gui.update();
+        repaint(gui, inventoryComponent, paneOffsetX, paneOffsetY, maxLength, maxHeight);
 
         return success;
     }
@@ -102,7 +100,7 @@ public class Slider extends VariableBar {
      * @since 0.5.0
      */
     public float getValue() {
-        return value;
+        return value.get();
     }
 
     /**
@@ -6,6 +6,7 @@ import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.gui.type.util.Gui;
 import plugily.projects.inventoryframework.pane.OutlinePane;
 import plugily.projects.inventoryframework.pane.Pane;
+import plugily.projects.inventoryframework.pane.util.ViewState;
 import plugily.projects.inventoryframework.util.ItemUtil;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.jetbrains.annotations.Contract;
@@ -29,9 +30,10 @@ public class ToggleButton extends Pane {
     private final OutlinePane enabledPane, disabledPane;
 
     /**
-     * Whether the button is enabled or disabled
+     * Whether the button is enabled or disabled, which can differ per viewer
      */
-    private boolean enabled = false;
+    @NotNull
+    private ViewState<Boolean> enabled = new ViewState<>(false);
 
     public ToggleButton(int x, int y, int length, int height, @NotNull Priority priority) {
         this(x, y, length, height);
@@ -43,11 +45,11 @@ public class ToggleButton extends Pane {
         super(length, height);
 
         this.enabledPane = new OutlinePane(0, 0, length, height);
-        this.enabledPane.addItem(new GuiItem(ItemUtil.getGreenStainedGlassPane()));
+        this.enabledPane.addItem(GuiItem.owning(ItemUtil.getGreenStainedGlassPane(), null));
         this.enabledPane.setRepeat(true);
 
         this.disabledPane = new OutlinePane(0, 0, length, height);
-        this.disabledPane.addItem(new GuiItem(ItemUtil.getRedStainedGlassPane()));
+        this.disabledPane.addItem(GuiItem.owning(ItemUtil.getRedStainedGlassPane(), null));
         this.disabledPane.setRepeat(true);
     }
 
@@ -67,7 +69,7 @@ public class ToggleButton extends Pane {
         int newMaxLength = Math.min(maxLength, length);
         int newMaxHeight = Math.min(maxHeight, height);
 
-        if (enabled) {
+        if (enabled.get()) {
             enabledPane.display(inventoryComponent, newX, newY, newMaxLength, newMaxHeight);
         } else {
             disabledPane.display(inventoryComponent, newX, newY, newMaxLength, newMaxHeight);
@@ -98,13 +100,13 @@ public class ToggleButton extends Pane {
         int newX = paneOffsetX + x;
         int newY = paneOffsetY + y;
 
-        if (enabled) {
+        if (enabled.get()) {
             enabledPane.click(gui, inventoryComponent, event, slot, newX, newY, length, height);
         } else {
             disabledPane.click(gui, inventoryComponent, event, slot, newX, newY, length, height);
         }
 
-        gui.update();
+        repaint(gui, inventoryComponent, paneOffsetX, paneOffsetY, maxLength, maxHeight);
 
         return true;
     }
@@ -123,7 +125,7 @@ public class ToggleButton extends Pane {
         toggleButton.setEnabledItem(enabledPane.getItems().get(0).copy());
         toggleButton.setDisabledItem(disabledPane.getItems().get(0).copy());
 
-        toggleButton.enabled = enabled;
+        toggleButton.enabled = enabled.copy();
 
         return toggleButton;
     }
@@ -165,28 +167,44 @@ public class ToggleButton extends Pane {
     }
 
     /**
-     * Gets whether this toggle button is currently enabled or disabled.
+     * Gets whether this toggle button is currently enabled or disabled. If a {@link ViewState#getViewer() viewer} is
+     * set, this is the state for that viewer.
      *
      * @return whether the button is enabled or disabled
      * @since 0.9.6
      */
     @Contract(pure = true)
     public boolean isEnabled() {
-        return enabled;
+        return enabled.get();
     }
 
     /**
-     * Toggles between the enabled and disabled states
+     * Toggles between the enabled and disabled states. If a {@link ViewState#getViewer() viewer} is set, only the state
+     * for that viewer is toggled.
      *
      * @since 0.5.0
      */
     public void toggle() {
-        enabled = !enabled;
+        enabled.set(!enabled.get());
+
+        markModified();
     }
 
     @Override
     public void clear() {}
 
+    @Contract(pure = true)
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), Math.max(enabledPane.getVersion(), disabledPane.getVersion()));
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean isCacheable() {
+        return !enabled.hasViewerValues();
+    }
+
     /**
      * Loads a toggle button from an XML element
      *
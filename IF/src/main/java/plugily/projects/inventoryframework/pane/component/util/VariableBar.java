@@ -2,14 +2,19 @@ package plugily.projects.inventoryframework.pane.component.util;
 
 import plugily.projects.inventoryframework.gui.GuiItem;
 import plugily.projects.inventoryframework.gui.InventoryComponent;
+import plugily.projects.inventoryframework.gui.type.util.Gui;
 import plugily.projects.inventoryframework.pane.Flippable;
 import plugily.projects.inventoryframework.pane.Orientable;
 import plugily.projects.inventoryframework.pane.OutlinePane;
 import plugily.projects.inventoryframework.pane.Pane;
+import plugily.projects.inventoryframework.pane.util.ViewState;
 import plugily.projects.inventoryframework.util.ItemUtil;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,9 +32,10 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
     protected final OutlinePane fillPane, backgroundPane;
 
     /**
-     * The value this slider is at. This is a value between 0 and 1 (both inclusive).
+     * The value this slider is at. This is a value between 0 and 1 (both inclusive), which can differ per viewer.
      */
-    protected float value;
+    @NotNull
+    protected ViewState<Float> value;
 
     /**
      * The orientation of the slider
@@ -45,14 +51,16 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
     protected VariableBar(int length, int height) {
         super(length, height);
 
-        this.value = 0F;
+        this.value = new ViewState<>(0F);
         this.orientation = Orientation.HORIZONTAL;
 
         this.fillPane = new OutlinePane(0, 0, length, height);
         this.backgroundPane = new OutlinePane(0, 0, length, height);
 
-        this.fillPane.addItem(new GuiItem(ItemUtil.getGreenStainedGlassPane(), event -> event.setCancelled(true)));
-        this.backgroundPane.addItem(new GuiItem(ItemUtil.getRedStainedGlassPane(), event -> event.setCancelled(true)));
+        this.fillPane.addItem(GuiItem.owning(ItemUtil.getGreenStainedGlassPane(),
+            event -> event.setCancelled(true)));
+        this.backgroundPane.addItem(GuiItem.owning(ItemUtil.getRedStainedGlassPane(),
+            event -> event.setCancelled(true)));
 
         this.fillPane.setRepeat(true);
         this.backgroundPane.setRepeat(true);
@@ -75,7 +83,8 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
 
     /**
      * Sets the value of this bar. The value has to be in (0,1). If not, this method will throw an
-     * {@link IllegalArgumentException}.
+     * {@link IllegalArgumentException}. If a {@link ViewState#getViewer() viewer} is set, only the value for that viewer
+     * is changed. The fill pane only reflects the shared value; the fill of viewers is computed while displaying.
      *
      * @param value the new value.
      * @throws IllegalArgumentException when the value is out of range
@@ -86,8 +95,22 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
             throw new IllegalArgumentException("Value is out of range (0,1)");
         }
 
-        this.value = value;
+        this.value.set(value);
+
+        if (ViewState.getViewer() == null) {
+            applyValue(value);
+        }
 
+        markModified();
+    }
+
+    /**
+     * Resizes and moves the fill pane according to the specified value
+     *
+     * @param value the value to apply
+     * @since 0.9.9
+     */
+    private void applyValue(float value) {
         if (orientation == Orientation.HORIZONTAL) {
             int length = Math.round(getLength() * value);
             boolean positiveLength = length != 0;
@@ -124,7 +147,7 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
         super.setLength(length);
 
         if (orientation == Orientation.HORIZONTAL) {
-            int fillLength = Math.round(length * value);
+            int fillLength = Math.round(length * value.get());
             boolean positiveLength = fillLength != 0;
 
             this.fillPane.setVisible(positiveLength);
@@ -152,7 +175,7 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
         if (orientation == Orientation.HORIZONTAL) {
             this.fillPane.setHeight(height);
         } else if (orientation == Orientation.VERTICAL) {
-            int fillHeight = Math.round(height * value);
+            int fillHeight = Math.round(height * value.get());
             boolean positiveHeight = fillHeight != 0;
 
             this.fillPane.setVisible(positiveHeight);
@@ -191,7 +214,7 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
         copy.setFillItem(fillPane.getItems().get(0).copy());
         copy.setBackgroundItem(backgroundPane.getItems().get(0).copy());
 
-        copy.value = value;
+        copy.value = value.copy();
         copy.orientation = orientation;
 
         copy.flipHorizontally = flipHorizontally;
@@ -205,7 +228,7 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
         this.orientation = orientation;
 
         if (orientation == Orientation.HORIZONTAL) {
-            int fillLength = Math.round(getLength() * value);
+            int fillLength = Math.round(getLength() * value.get());
             boolean positiveLength = fillLength != 0;
 
             fillPane.setVisible(fillLength != 0);
@@ -216,7 +239,7 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
 
             fillPane.setHeight(getHeight());
         } else if (orientation == Orientation.VERTICAL) {
-            int fillHeight = Math.round(getHeight() * value);
+            int fillHeight = Math.round(getHeight() * value.get());
             boolean positiveHeight = fillHeight != 0;
 
             fillPane.setVisible(fillHeight != 0);
@@ -239,7 +262,107 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
         int newMaxHeight = Math.min(maxHeight, getHeight());
 
         this.backgroundPane.display(inventoryComponent, newPaneOffsetX, newPaneOffsetY, newMaxLength, newMaxHeight);
-        this.fillPane.display(inventoryComponent, newPaneOffsetX, newPaneOffsetY, newMaxLength, newMaxHeight);
+
+        if (value.hasViewerValues()) {
+            displayFill(inventoryComponent, newPaneOffsetX, newPaneOffsetY, newMaxLength, newMaxHeight, value.get());
+        } else {
+            this.fillPane.display(inventoryComponent, newPaneOffsetX, newPaneOffsetY, newMaxLength, newMaxHeight);
+        }
+    }
+
+    /**
+     * Passes a click on this bar on to the fill pane and the background pane. While viewers have values of their own,
+     * the fill shown to a viewer may extend beyond the fill pane, so a slot which was filled on behalf of the fill pane
+     * is handled by calling the action of its item directly.
+     *
+     * @param gui the gui this bar belongs to
+     * @param inventoryComponent the inventory component that was clicked
+     * @param event the event of the click
+     * @param slot the slot that was clicked
+     * @param paneOffsetX the x offset of this bar
+     * @param paneOffsetY the y offset of this bar
+     * @param maxLength the maximum length of this bar
+     * @param maxHeight the maximum height of this bar
+     * @return true if an item was clicked, false otherwise
+     * @since 0.9.9
+     */
+    protected boolean clickParts(@NotNull Gui gui, @NotNull InventoryComponent inventoryComponent,
+                                 @NotNull InventoryClickEvent event, int slot, int paneOffsetX, int paneOffsetY,
+                                 int maxLength, int maxHeight) {
+        if (value.hasViewerValues() && inventoryComponent.getDisplayedPane(slot) == fillPane) {
+            GuiItem item = inventoryComponent.getDisplayedItem(slot);
+
+            if (item != null) {
+                item.callAction(event);
+
+                return true;
+            }
+        }
+
+        return this.fillPane.click(
+            gui, inventoryComponent, event, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight
+        ) || this.backgroundPane.click(
+            gui, inventoryComponent, event, slot, paneOffsetX, paneOffsetY, maxLength, maxHeight
+        );
+    }
+
+    /**
+     * Displays the fill of this bar for the specified value, without changing the fill pane, which stays at the shared
+     * value. The items of the fill pane are repeated over the filled part of this bar in row-major order, like the fill
+     * pane would place them, and are placed on behalf of the fill pane, so clicks on them are handled by it.
+     *
+     * @param inventoryComponent the inventory component to display in
+     * @param paneOffsetX the x offset of this bar
+     * @param paneOffsetY the y offset of this bar
+     * @param maxLength the maximum length of this bar
+     * @param maxHeight the maximum height of this bar
+     * @param value the value to display
+     * @since 0.9.9
+     */
+    private void displayFill(@NotNull InventoryComponent inventoryComponent, int paneOffsetX, int paneOffsetY,
+                             int maxLength, int maxHeight, float value) {
+        int fillX = 0;
+        int fillY = 0;
+        int fillLength = getLength();
+        int fillHeight = getHeight();
+
+        if (orientation == Orientation.HORIZONTAL) {
+            fillLength = Math.round(getLength() * value);
+
+            if (flipHorizontally) {
+                fillX = getLength() - fillLength;
+            }
+        } else if (orientation == Orientation.VERTICAL) {
+            fillHeight = Math.round(getHeight() * value);
+
+            if (flipVertically) {
+                fillY = getHeight() - fillHeight;
+            }
+        } else {
+            throw new UnsupportedOperationException("Unknown orientation");
+        }
+
+        List<GuiItem> items = fillPane.getItems();
+
+        if (items.isEmpty()) {
+            return;
+        }
+
+        int index = 0;
+
+        for (int y = fillY; y < fillY + fillHeight; y++) {
+            for (int x = fillX; x < fillX + fillLength; x++) {
+                GuiItem item = items.get(index++ % items.size());
+
+                if (!item.isVisible() || x >= maxLength || y >= maxHeight) {
+                    continue;
+                }
+
+                int slot = getSlot(inventoryComponent, paneOffsetX + x, paneOffsetY + y);
+
+                inventoryComponent.setItem(item, slot, fillPane);
+            }
+        }
     }
 
     /**
@@ -306,4 +429,16 @@ public abstract class VariableBar extends Pane implements Orientable, Flippable
 
     @Override
     public void clear() {}
+
+    @Contract(pure = true)
+    @Override
+    public long getVersion() {
+        return Math.max(super.getVersion(), Math.max(fillPane.getVersion(), backgroundPane.getVersion()));
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean isCacheable() {
+        return !value.hasViewerValues();
+    }
 }
@@ -15,10 +15,22 @@ import java.util.Arrays;
 public class Mask {
 
     /**
-     * A two-dimensional array of booleans indicating which slots are 'enabled' and which ones are 'disabled'. This
-     * two-dimensional array is constructed in a row-major order fashion.
+     * The cells of this mask as a bit set, in row-major order: each row occupies {@link #words} consecutive longs and
+     * the cell at (x, y) is enabled if bit x % 64 of the long at index y * words + x / 64 is set. Bits beyond the
+     * length of a row are always clear.
      */
-    private final boolean[][] mask;
+    @NotNull
+    private final long[] bits;
+
+    /**
+     * The amount of longs used for each row
+     */
+    private final int words;
+
+    /**
+     * The length and height of this mask
+     */
+    private final int length, height;
 
     /**
      * Creates a mask based on the strings provided. Each string is a row for the mask and each character is a cell of
@@ -33,23 +45,21 @@ public class Mask {
      * @since 0.5.16
      */
     public Mask(@NotNull String... mask) {
-        this.mask = new boolean[mask.length][mask.length == 0 ? 0 : mask[0].length()];
+        this(mask.length == 0 ? 0 : mask[0].length(), mask.length);
 
         for (int row = 0; row < mask.length; row++) {
             int length = mask[row].length();
 
-            if (length != this.mask[row].length) {
+            if (length != this.length) {
                 throw new IllegalArgumentException("Lengths of each string should be equal");
             }
 
             for (int column = 0; column < length; column++) {
                 char character = mask[row].charAt(column);
 
-                if (character == '0') {
-                    this.mask[row][column] = false;
-                } else if (character == '1') {
-                    this.mask[row][column] = true;
-                } else {
+                if (character == '1') {
+                    bits[row * words + (column >>> 6)] |= 1L << column;
+                } else if (character != '0') {
                     throw new IllegalArgumentException("Strings may only contain '0' and '1'");
                 }
             }
@@ -57,15 +67,17 @@ public class Mask {
     }
 
     /**
-     * Creates a mask based on the two-dimensional boolean array provided. Each array is a row for the mask and each
-     * index is a cell of that row that indicates a slot for the mask. When the boolean is false, the slot will be
-     * considered 'disabled'; when the boolean is true, the slot will be considered 'enabled'.
+     * Creates an empty mask with the specified dimensions, in which every slot is 'disabled'.
      *
-     * @param mask a two-dimensional boolean array of booleans that represent this mask
-     * @since 0.9.1
+     * @param length the length of the mask
+     * @param height the height of the mask
+     * @since 0.9.9
      */
-    private Mask(boolean[][] mask) {
-        this.mask = mask;
+    private Mask(int length, int height) {
+        this.length = length;
+        this.height = height;
+        this.words = (length + 63) >>> 6;
+        this.bits = new long[height * words];
     }
 
     /**
@@ -81,19 +93,16 @@ public class Mask {
     @NotNull
     @Contract(pure = true)
     public Mask setHeight(int height) {
-        boolean[][] newRows = new boolean[height][getLength()];
+        Mask mask = new Mask(getLength(), height);
+        int keptWords = Math.min(height, getHeight()) * words;
 
-        for (int index = 0; index < Math.min(height, getHeight()); index++) {
-            System.arraycopy(mask[index], 0, newRows[index], 0, mask[index].length);
-        }
-
-        for (int index = Math.min(height, getHeight()); index < height; index++) {
-            newRows[index] = new boolean[getLength()];
+        System.arraycopy(bits, 0, mask.bits, 0, keptWords);
 
-            Arrays.fill(newRows[index], true);
+        for (int row = Math.min(height, getHeight()); row < height; row++) {
+            mask.enableColumns(row, 0, getLength());
         }
 
-        return new Mask(newRows);
+        return mask;
     }
 
     /**
@@ -109,19 +118,20 @@ public class Mask {
     @NotNull
     @Contract(pure = true)
     public Mask setLength(int length) {
-        boolean[][] newRows = new boolean[getHeight()][length];
-
-        for (int index = 0; index < mask.length; index++) {
-            boolean[] newRow = new boolean[length];
-
-            System.arraycopy(mask[index], 0, newRow, 0, Math.min(length, mask[index].length));
+        Mask mask = new Mask(length, getHeight());
+        int keptWords = Math.min(words, mask.words);
 
-            Arrays.fill(newRow, Math.min(length, mask[index].length), newRow.length, true);
+        for (int row = 0; row < getHeight(); row++) {
+            System.arraycopy(bits, row * words, mask.bits, row * mask.words, keptWords);
 
-            newRows[index] = newRow;
+            if (length < getLength()) {
+                mask.disableColumns(row, length, keptWords * 64);
+            } else {
+                mask.enableColumns(row, getLength(), length);
+            }
         }
 
-        return new Mask(newRows);
+        return mask;
     }
 
     /**
@@ -133,15 +143,55 @@ public class Mask {
     public int amountOfEnabledSlots() {
         int amount = 0;
 
-        for (boolean[] row : mask) {
-            for (boolean cell : row) {
-                if (cell) {
-                    amount++;
+        for (long word : bits) {
+            amount += Long.bitCount(word);
+        }
+
+        return amount;
+    }
+
+    /**
+     * Gets the first 'enabled' slot at or after the specified slot. Slots are counted in row-major order, so the slot
+     * of the cell at (x, y) is y * length + x. If there is no 'enabled' slot at or after the specified slot, -1 is
+     * returned. This allows iterating over all enabled slots without allocating, similar to
+     * {@link java.util.BitSet#nextSetBit(int)}:
+     * <pre>{@code
+     * for (int slot = mask.nextEnabledSlot(0); slot != -1; slot = mask.nextEnabledSlot(slot + 1)) {
+     *     int x = slot % mask.getLength();
+     *     int y = slot / mask.getLength();
+     * }
+     * }</pre>
+     *
+     * @param slot the slot to start searching from
+     * @return the first enabled slot at or after the specified slot, or -1 if there is none
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public int nextEnabledSlot(int slot) {
+        if (getLength() == 0) {
+            return -1;
+        }
+
+        int row = Math.max(slot, 0) / getLength();
+        int column = Math.max(slot, 0) % getLength();
+
+        for (; row < getHeight(); row++, column = 0) {
+            int offset = row * words;
+
+            for (int word = column >>> 6; word < words; word++) {
+                long remaining = bits[offset + word];
+
+                if (word == column >>> 6) {
+                    remaining &= -1L << column;
+                }
+
+                if (remaining != 0) {
+                    return row * getLength() + (word << 6) + Long.numberOfTrailingZeros(remaining);
                 }
             }
         }
 
-        return amount;
+        return -1;
     }
 
     /**
@@ -154,10 +204,10 @@ public class Mask {
      * @since 0.5.16
      */
     public boolean[] getColumn(int index) {
-        boolean[] column = new boolean[mask[0].length];
+        boolean[] column = new boolean[getHeight()];
 
         for (int i = 0; i < getHeight(); i++) {
-            column[i] = mask[i][index];
+            column[i] = isEnabled(index, i);
         }
 
         return column;
@@ -173,9 +223,17 @@ public class Mask {
      * @since 0.5.16
      */
     public boolean[] getRow(int index) {
-        boolean[] row = mask[index];
+        if (index < 0 || index >= getHeight()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
 
-        return Arrays.copyOf(row, row.length);
+        boolean[] row = new boolean[getLength()];
+
+        for (int i = 0; i < getLength(); i++) {
+            row[i] = isEnabled(i, index);
+        }
+
+        return row;
     }
 
     /**
@@ -188,7 +246,11 @@ public class Mask {
      * @since 0.5.16
      */
     public boolean isEnabled(int x, int y) {
-        return mask[y][x];
+        if (x < 0 || x >= getLength() || y < 0 || y >= getHeight()) {
+            throw new ArrayIndexOutOfBoundsException("Coordinates out of bounds: x = " + x + ", y = " + y);
+        }
+
+        return (bits[y * words + (x >>> 6)] & 1L << x) != 0;
     }
 
     /**
@@ -198,7 +260,7 @@ public class Mask {
      * @since 0.5.16
      */
     public int getLength() {
-        return mask[0].length;
+        return length;
     }
 
     /**
@@ -208,7 +270,60 @@ public class Mask {
      * @since 0.5.16
      */
     public int getHeight() {
-        return mask.length;
+        return height;
+    }
+
+    /**
+     * Enables the columns in the specified range of the specified row. This may only be used while constructing a new
+     * mask.
+     *
+     * @param row the row
+     * @param from the first column to enable, inclusive
+     * @param to the last column to enable, exclusive
+     * @since 0.9.9
+     */
+    private void enableColumns(int row, int from, int to) {
+        for (int word = from >>> 6; word < words && word << 6 < to; word++) {
+            bits[row * words + word] |= columnRange(word, from, to);
+        }
+    }
+
+    /**
+     * Disables the columns in the specified range of the specified row. This may only be used while constructing a new
+     * mask.
+     *
+     * @param row the row
+     * @param from the first column to disable, inclusive
+     * @param to the last column to disable, exclusive
+     * @since 0.9.9
+     */
+    private void disableColumns(int row, int from, int to) {
+        for (int word = from >>> 6; word < words && word << 6 < to; word++) {
+            bits[row * words + word] &= ~columnRange(word, from, to);
+        }
+    }
+
+    /**
+     * Gets the bits of the specified word of a row which correspond to the columns in the specified range.
+     *
+     * @param word the index of the word within the row
+     * @param from the first column, inclusive
+     * @param to the last column, exclusive
+     * @return the bits of the columns in the word
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    private static long columnRange(int word, int from, int to) {
+        int start = Math.max(from - (word << 6), 0);
+        int end = Math.min(to - (word << 6), 64);
+
+        if (start >= end) {
+            return 0;
+        }
+
+        long range = end == 64 ? -1L : (1L << end) - 1;
+
+        return range & -1L << start;
     }
 
     @Override
@@ -223,18 +338,24 @@ public class Mask {
 
         Mask mask = (Mask) object;
 
-        return Arrays.deepEquals(this.mask, mask.mask);
+        return length == mask.length && height == mask.height && Arrays.equals(bits, mask.bits);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(mask);
+        return 31 * (31 * length + height) + Arrays.hashCode(bits);
     }
 
     @Override
     public String toString() {
+        boolean[][] rows = new boolean[getHeight()][];
+
+        for (int row = 0; row < getHeight(); row++) {
+            rows[row] = getRow(row);
+        }
+
         return "Mask{" +
-            "mask=" + Arrays.deepToString(mask) +
+            "mask=" + Arrays.deepToString(rows) +
             '}';
     }
 }
@@ -10,7 +10,6 @@ import org.w3c.dom.NodeList;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * A mask for {@link PatternPane}s that specifies in which positions the items should be placed. Objects of this class
@@ -62,13 +61,7 @@ public class Pattern {
                 );
             }
 
-            List<Integer> values = new ArrayList<>();
-
-            row.codePoints().forEach(values::add);
-
-            for (int column = 0; column < values.size(); column++) {
-                this.pattern[index][column] = values.get(column);
-            }
+            this.pattern[index] = row.codePoints().toArray();
         }
     }
 
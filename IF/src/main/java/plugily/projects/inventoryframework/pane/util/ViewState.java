@@ -0,0 +1,184 @@
+package plugily.projects.inventoryframework.pane.util;
+
+import plugily.projects.inventoryframework.gui.type.util.Gui;
+import org.bukkit.entity.HumanEntity;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A piece of mutable state of a pane, like the current page of a paginated pane, which can differ per viewer. The
+ * state has a shared value, which is used by every viewer that hasn't got a value of its own. Whenever the state is
+ * changed while a {@link #getViewer() viewer} is set, only the value for that viewer is changed; otherwise the shared
+ * value is changed. This allows a single gui to be shown to many viewers, each with their own page, toggle state or
+ * slider value, without copying the gui per viewer. A gui with per viewer state sets the viewer while it handles a
+ * click or renders the inventory of a viewer, see {@link Gui#setPerViewerState(boolean)}; outside of that only the
+ * shared value is used.
+ *
+ * The values of viewers are weakly referenced by the viewer, so they are dropped once the viewer is no longer used.
+ * The viewer is not tracked per thread, so view states should only be used from the main thread.
+ *
+ * @param <T> the type of the value
+ * @since 0.9.9
+ */
+public final class ViewState<T> {
+
+    /**
+     * The viewer whose values are currently used, or null if the shared values are used
+     */
+    @Nullable
+    private static HumanEntity viewer;
+
+    /**
+     * The value used by every viewer without a value of its own
+     */
+    private T sharedValue;
+
+    /**
+     * The values of the viewers which have a value of their own, or null if there are none yet
+     */
+    @Nullable
+    private Map<HumanEntity, T> viewerValues;
+
+    /**
+     * Creates a new view state with the specified shared value
+     *
+     * @param sharedValue the shared value
+     * @since 0.9.9
+     */
+    public ViewState(T sharedValue) {
+        this.sharedValue = sharedValue;
+    }
+
+    /**
+     * Gets the value for the current viewer. If no viewer is set, or the viewer has no value of its own, the shared
+     * value is returned.
+     *
+     * @return the value
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public T get() {
+        if (viewer == null || viewerValues == null) {
+            return sharedValue;
+        }
+
+        return viewerValues.getOrDefault(viewer, sharedValue);
+    }
+
+    /**
+     * Sets the value for the current viewer. If no viewer is set, the shared value is set instead.
+     *
+     * @param value the new value
+     * @since 0.9.9
+     */
+    public void set(T value) {
+        if (viewer == null) {
+            sharedValue = value;
+            return;
+        }
+
+        if (viewerValues == null) {
+            viewerValues = new WeakHashMap<>();
+        }
+
+        viewerValues.put(viewer, value);
+    }
+
+    /**
+     * Gets the shared value, regardless of the current viewer
+     *
+     * @return the shared value
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public T getShared() {
+        return sharedValue;
+    }
+
+    /**
+     * Removes the value of the specified viewer, so it uses the shared value again
+     *
+     * @param viewer the viewer to remove the value of
+     * @since 0.9.9
+     */
+    public void reset(@NotNull HumanEntity viewer) {
+        if (viewerValues != null) {
+            viewerValues.remove(viewer);
+        }
+    }
+
+    /**
+     * Gets whether any viewer has a value of its own. While this is the case, a pane cannot reuse its output for all
+     * viewers.
+     *
+     * @return true if there are values of viewers, false otherwise
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public boolean hasViewerValues() {
+        return viewerValues != null && !viewerValues.isEmpty();
+    }
+
+    /**
+     * Creates a copy of this view state with the same shared value. The values of viewers are not copied.
+     *
+     * @return the copy
+     * @since 0.9.9
+     */
+    @NotNull
+    @Contract(pure = true)
+    public ViewState<T> copy() {
+        return new ViewState<>(sharedValue);
+    }
+
+    /**
+     * Runs the specified runnable with the specified viewer set as the current viewer. The previous viewer is set again
+     * afterwards.
+     *
+     * @param viewer the viewer or null to use the shared values
+     * @param runnable the runnable to run
+     * @since 0.9.9
+     */
+    public static void runAs(@Nullable HumanEntity viewer, @NotNull Runnable runnable) {
+        HumanEntity previousViewer = setViewer(viewer);
+
+        try {
+            runnable.run();
+        } finally {
+            setViewer(previousViewer);
+        }
+    }
+
+    /**
+     * Sets the current viewer. Prefer {@link #runAs(HumanEntity, Runnable)}, which sets the previous viewer again
+     * afterwards.
+     *
+     * @param viewer the viewer or null to use the shared values
+     * @return the previous viewer
+     * @since 0.9.9
+     */
+    @Nullable
+    public static HumanEntity setViewer(@Nullable HumanEntity viewer) {
+        HumanEntity previousViewer = ViewState.viewer;
+
+        ViewState.viewer = viewer;
+
+        return previousViewer;
+    }
+
+    /**
+     * Gets the current viewer
+     *
+     * @return the viewer or null if the shared values are used
+     * @since 0.9.9
+     */
+    @Nullable
+    @Contract(pure = true)
+    public static HumanEntity getViewer() {
+        return viewer;
+    }
+}
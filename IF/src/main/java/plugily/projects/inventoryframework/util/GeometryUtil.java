@@ -5,9 +5,17 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.AbstractMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GeometryUtil {
 
+    /**
+     * The transform tables which have been computed so far, see
+     * {@link #getTransformTable(int, int, int, boolean, boolean)}
+     */
+    @NotNull
+    private static final Map<Long, int[]> TRANSFORM_TABLES = new ConcurrentHashMap<>();
+
     /**
      * Calculates a clockwise rotation across a two dimensional grid
      *
@@ -22,22 +30,100 @@ public class GeometryUtil {
     @Contract(pure = true)
     public static Map.Entry<Integer, Integer> processClockwiseRotation(int x, int y, int length, int height,
                                                                        int rotation) {
-        int newX = x, newY = y;
+        return new AbstractMap.SimpleEntry<>(processClockwiseRotationX(x, y, length, height, rotation),
+            processClockwiseRotationY(x, y, length, height, rotation));
+    }
+
+    /**
+     * Calculates the x coordinate of a clockwise rotation across a two dimensional grid. Unlike
+     * {@link #processClockwiseRotation(int, int, int, int, int)}, this does not allocate.
+     *
+     * @param x the standard x coordinate
+     * @param y the standard y coordinate
+     * @param length the length of the grid
+     * @param height the height of the grid
+     * @param rotation the rotation in degrees
+     * @return the new x coordinate
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public static int processClockwiseRotationX(int x, int y, int length, int height, int rotation) {
+        if (rotation == 90) {
+            return height - 1 - y;
+        } else if (rotation == 180) {
+            return length - 1 - x;
+        } else if (rotation == 270) {
+            return y;
+        }
 
+        return x;
+    }
+
+    /**
+     * Calculates the y coordinate of a clockwise rotation across a two dimensional grid. Unlike
+     * {@link #processClockwiseRotation(int, int, int, int, int)}, this does not allocate.
+     *
+     * @param x the standard x coordinate
+     * @param y the standard y coordinate
+     * @param length the length of the grid
+     * @param height the height of the grid
+     * @param rotation the rotation in degrees
+     * @return the new y coordinate
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public static int processClockwiseRotationY(int x, int y, int length, int height, int rotation) {
         if (rotation == 90) {
-            newX = height - 1 - y;
-            //noinspection SuspiciousNameCombination
-            newY = x;
+            return x;
         } else if (rotation == 180) {
-            newX = length - 1 - x;
-            newY = height - 1 - y;
+            return height - 1 - y;
         } else if (rotation == 270) {
-            //noinspection SuspiciousNameCombination
-            newX = y;
-            newY = length - 1 - x;
+            return length - 1 - x;
         }
 
-        return new AbstractMap.SimpleEntry<>(newX, newY);
+        return y;
+    }
+
+    /**
+     * Gets a table which maps every cell of a grid to the cell it ends up in after first flipping it horizontally
+     * and/or vertically and then rotating it clockwise, as done when panes are displayed. The cell at (x, y), with x
+     * between 0 (inclusive) and the length (exclusive) and y between 0 (inclusive) and the height (exclusive), has its
+     * new x coordinate at index (y * length + x) * 2 and its new y coordinate at the index after that. Tables are
+     * computed once and shared between all callers with the same arguments, so the returned array must not be
+     * modified.
+     *
+     * @param length the length of the grid
+     * @param height the height of the grid
+     * @param rotation the rotation in degrees
+     * @param flipHorizontally whether the grid is flipped horizontally
+     * @param flipVertically whether the grid is flipped vertically
+     * @return the transform table
+     * @since 0.9.9
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static int[] getTransformTable(int length, int height, int rotation, boolean flipHorizontally,
+                                          boolean flipVertically) {
+        int quarterTurns = rotation == 90 ? 1 : rotation == 180 ? 2 : rotation == 270 ? 3 : 0;
+        long key = (long) length << 32 | (long) (height & 0xFFFFFFF) << 4 | quarterTurns << 2 |
+            (flipHorizontally ? 2 : 0) | (flipVertically ? 1 : 0);
+
+        return TRANSFORM_TABLES.computeIfAbsent(key, k -> {
+            int[] table = new int[Math.max(length * height, 0) * 2];
+
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < length; x++) {
+                    int flippedX = flipHorizontally ? length - x - 1 : x;
+                    int flippedY = flipVertically ? height - y - 1 : y;
+                    int index = (y * length + x) * 2;
+
+                    table[index] = processClockwiseRotationX(flippedX, flippedY, length, height, rotation);
+                    table[index + 1] = processClockwiseRotationY(flippedX, flippedY, length, height, rotation);
+                }
+            }
+
+            return table;
+        });
     }
 
     /**
@@ -1,26 +1,137 @@
 package plugily.projects.inventoryframework.util;
 
+import plugily.projects.inventoryframework.util.version.Version;
+import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Associates the UUID of a gui item with the meta of its item. On 1.14 and newer the UUID is stored as a tag in the
+ * persistent data container of the meta, so it lives and dies with the item itself and no registry is kept. The meta
+ * has to be set on the item again after putting the UUID. Older versions fall back to a registry keyed by the meta,
+ * which is bounded: once it is full, the entry that was used least recently is evicted. Gui items put their UUID again
+ * whenever they are displayed, but once more items are in use than the registry can hold, entries of items which are
+ * still shown may be evicted as well. Clicks are therefore resolved through the gui items displayed in each slot first,
+ * see {@link plugily.projects.inventoryframework.pane.Pane#findClickedItem}, and this registry is only a fallback.
+ */
 public class UUIDMetaUtil {
-    private static final Map<ItemMeta, UUID> metaMap = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum amount of entries of the fallback registry
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    /**
+     * Whether the persistent data container can be used to store the UUID
+     */
+    private static final boolean PERSISTENT_DATA = Version.CURRENT.getMinor() >= 14;
+
+    /**
+     * The fallback registry for versions without persistent data containers, in access order
+     */
+    @NotNull
+    private static final Map<ItemMeta, UUID> metaMap = new LinkedHashMap<ItemMeta, UUID>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ItemMeta, UUID> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * The key of the UUID tag in persistent data containers, created on first use
+     */
+    @Nullable
+    private static NamespacedKey key;
 
     private UUIDMetaUtil() {
     }
 
-    public static void put(ItemMeta meta, UUID uuid) {
-        metaMap.put(meta, uuid);
+    /**
+     * Associates the specified UUID with the specified meta
+     *
+     * @param meta the meta
+     * @param uuid the UUID
+     */
+    public static void put(@NotNull ItemMeta meta, @NotNull UUID uuid) {
+        if (PERSISTENT_DATA) {
+            meta.getPersistentDataContainer().set(getKey(), PersistentDataType.STRING, uuid.toString());
+            return;
+        }
+
+        synchronized (metaMap) {
+            metaMap.put(meta, uuid);
+        }
     }
 
-    public static UUID getUUID(ItemMeta meta) {
-        return metaMap.get(meta);
+    /**
+     * Gets the UUID associated with the specified meta
+     *
+     * @param meta the meta
+     * @return the UUID or null if no UUID is associated with the meta
+     */
+    @Nullable
+    public static UUID getUUID(@NotNull ItemMeta meta) {
+        if (PERSISTENT_DATA) {
+            String uuid = meta.getPersistentDataContainer().get(getKey(), PersistentDataType.STRING);
+
+            return uuid == null ? null : UUID.fromString(uuid);
+        }
+
+        synchronized (metaMap) {
+            return metaMap.get(meta);
+        }
     }
 
-    public static void remove(ItemMeta meta) {
-        metaMap.remove(meta);
+    /**
+     * Removes the UUID associated with the specified meta
+     *
+     * @param meta the meta
+     */
+    public static void remove(@NotNull ItemMeta meta) {
+        if (PERSISTENT_DATA) {
+            meta.getPersistentDataContainer().remove(getKey());
+            return;
+        }
+
+        synchronized (metaMap) {
+            metaMap.remove(meta);
+        }
+    }
+
+    /**
+     * Gets the amount of entries in the fallback registry. This is always zero on versions which store the UUID in the
+     * persistent data container, and never exceeds the bound of the registry otherwise.
+     *
+     * @return the amount of entries
+     * @since 0.9.9
+     */
+    @Contract(pure = true)
+    public static int size() {
+        synchronized (metaMap) {
+            return metaMap.size();
+        }
+    }
+
+    /**
+     * Gets the key of the UUID tag in persistent data containers
+     *
+     * @return the key
+     * @since 0.9.9
+     */
+    @NotNull
+    private static NamespacedKey getKey() {
+        if (key == null) {
+            key = new NamespacedKey(JavaPlugin.getProvidingPlugin(UUIDMetaUtil.class), "gui-item-uuid");
+        }
+
+        return key;
     }
 }
@@ -0,0 +1,246 @@
+package plugily.projects.inventoryframework.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A registry which maps keys to values by identity, holding both weakly. Keys are compared with {@code ==} and hashed
+ * with {@link System#identityHashCode(Object)}, so their {@code equals} and {@code hashCode} implementations are never
+ * called. Since values are held weakly as well, a value referencing its own key does not keep the entry alive, unlike
+ * with a {@link java.util.WeakHashMap}. Entries are removed once either the key or the value has been garbage
+ * collected.
+ *
+ * Reads are lock free and may happen from any thread, concurrently with writes. The references of collected keys and
+ * values are enqueued by the garbage collector and their entries are removed whenever an entry is put or looked up, so
+ * lookups stay constant time regardless of how many keys come and go.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 0.9.9
+ */
+public final class WeakIdentityRegistry<K, V> {
+
+    /**
+     * The entries of this registry
+     */
+    @NotNull
+    private final ConcurrentMap<Object, ValueReference<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The queue to which the references of collected keys and values are enqueued
+     */
+    @NotNull
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /**
+     * Associates the specified value with the specified key, replacing any previous value of the key
+     *
+     * @param key the key
+     * @param value the value
+     * @since 0.9.9
+     */
+    public void put(@NotNull K key, @NotNull V value) {
+        expungeStaleEntries();
+
+        WeakKey<K> weakKey = new WeakKey<>(key, queue);
+
+        entries.put(weakKey, new ValueReference<>(value, weakKey, queue));
+    }
+
+    /**
+     * Gets the value associated with the specified key
+     *
+     * @param key the key
+     * @return the value or null if no value is associated with the key
+     * @since 0.9.9
+     */
+    @Nullable
+    public V get(@NotNull Object key) {
+        expungeStaleEntries();
+
+        ValueReference<V> reference = entries.get(new LookupKey(key));
+
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Removes the value associated with the specified key
+     *
+     * @param key the key
+     * @since 0.9.9
+     */
+    public void remove(@NotNull Object key) {
+        entries.remove(new LookupKey(key));
+    }
+
+    /**
+     * Gets the amount of entries in this registry, after removing the entries of collected keys and values
+     *
+     * @return the amount of entries
+     * @since 0.9.9
+     */
+    public int size() {
+        expungeStaleEntries();
+
+        return entries.size();
+    }
+
+    /**
+     * Clears and enqueues the reference to the specified key, as the garbage collector would once the key has been
+     * collected. This is only meant for tests.
+     *
+     * @param key the key
+     * @since 0.9.9
+     */
+    void collectKey(@NotNull Object key) {
+        for (Object weakKey : entries.keySet()) {
+            if (unwrap(weakKey) == key) {
+                ((WeakKey<?>) weakKey).clear();
+                ((WeakKey<?>) weakKey).enqueue();
+            }
+        }
+    }
+
+    /**
+     * Clears and enqueues the reference to the value of the specified key, as the garbage collector would once the value
+     * has been collected. This is only meant for tests.
+     *
+     * @param key the key
+     * @since 0.9.9
+     */
+    void collectValue(@NotNull Object key) {
+        ValueReference<V> reference = entries.get(new LookupKey(key));
+
+        if (reference != null) {
+            reference.clear();
+            reference.enqueue();
+        }
+    }
+
+    /**
+     * Removes the entries whose keys or values have been collected
+     */
+    private void expungeStaleEntries() {
+        Reference<?> reference;
+
+        while ((reference = queue.poll()) != null) {
+            if (reference instanceof ValueReference) {
+                ValueReference<?> valueReference = (ValueReference<?>) reference;
+
+                entries.remove(valueReference.key, valueReference);
+            } else {
+                entries.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * Gets the key referenced by the specified key of the map
+     *
+     * @param key the key of the map
+     * @return the referenced key or null if it has been collected
+     */
+    @Nullable
+    @Contract(pure = true)
+    private static Object unwrap(@Nullable Object key) {
+        if (key instanceof WeakKey) {
+            return ((WeakKey<?>) key).get();
+        }
+
+        if (key instanceof LookupKey) {
+            return ((LookupKey) key).key;
+        }
+
+        return null;
+    }
+
+    /**
+     * A key of the map which references the actual key weakly. Once the actual key has been collected, this is only
+     * equal to itself, so it can still be removed.
+     *
+     * @param <K> the type of the key
+     */
+    private static final class WeakKey<K> extends WeakReference<K> {
+
+        /**
+         * The identity hash code of the referenced key
+         */
+        private final int hash;
+
+        WeakKey(@NotNull K key, @NotNull ReferenceQueue<? super K> queue) {
+            super(key, queue);
+
+            this.hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+
+            Object key = get();
+
+            return key != null && key == unwrap(object);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A reference to a value of the map, which knows the key it is stored under, so its entry can be removed once the
+     * value has been collected
+     *
+     * @param <V> the type of the value
+     */
+    private static final class ValueReference<V> extends WeakReference<V> {
+
+        /**
+         * The key of the map this value is stored under
+         */
+        @NotNull
+        private final WeakKey<?> key;
+
+        ValueReference(@NotNull V value, @NotNull WeakKey<?> key, @NotNull ReferenceQueue<? super V> queue) {
+            super(value, queue);
+
+            this.key = key;
+        }
+    }
+
+    /**
+     * A short lived key used to look up entries, which references the actual key strongly
+     */
+    private static final class LookupKey {
+
+        /**
+         * The actual key
+         */
+        @NotNull
+        private final Object key;
+
+        LookupKey(@NotNull Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object == this || key == unwrap(object);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package plugily.projects.inventoryframework.gui;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuiItemTest {
+
+    @Test
+    void testCopyIsIndependent() {
+        TestItemStack stack = new TestItemStack(1);
+        GuiItem original = new GuiItem(stack);
+
+        GuiItem copy = original.copy();
+
+        stack.setAmount(2);
+
+        assertEquals(1, copy.getItem().getAmount());
+
+        copy.getItem().setAmount(3);
+
+        assertEquals(2, original.getItem().getAmount());
+    }
+
+    @Test
+    void testCopyOfCopyIsIndependent() {
+        TestItemStack stack = new TestItemStack(1);
+        GuiItem original = new GuiItem(stack);
+
+        GuiItem copy = original.copy();
+        GuiItem copyOfCopy = copy.copy();
+
+        copyOfCopy.getItem().setAmount(2);
+
+        assertEquals(1, copy.getItem().getAmount());
+
+        copy.getItem().setAmount(3);
+
+        assertEquals(2, copyOfCopy.getItem().getAmount());
+        assertEquals(1, original.getItem().getAmount());
+    }
+
+    @Test
+    void testCopyOfOwnedItemSharesItem() {
+        GuiItem original = GuiItem.owning(new TestItemStack(1), null);
+        GuiItem copy = original.copy();
+
+        assertSame(original.getSharedItem(), copy.getSharedItem());
+
+        copy.getItem().setAmount(2);
+
+        assertNotSame(original.getSharedItem(), copy.getSharedItem());
+        assertEquals(1, original.getItem().getAmount());
+    }
+
+    @Test
+    void testCopyOfAir() {
+        GuiItem guiItem = new GuiItem(new TestItemStack(1));
+
+        guiItem.getItem().setType(Material.AIR);
+
+        assertThrows(IllegalArgumentException.class, guiItem::copy);
+    }
+}
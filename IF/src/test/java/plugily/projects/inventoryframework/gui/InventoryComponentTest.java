@@ -1,6 +1,9 @@
 package plugily.projects.inventoryframework.gui;
 
 import plugily.projects.inventoryframework.pane.*;
+import plugily.projects.inventoryframework.pane.util.ViewState;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.inventory.ItemStack;
 import org.junit.jupiter.api.Test;
 import plugily.projects.inventoryframework.pane.MasonryPane;
 import plugily.projects.inventoryframework.pane.OutlinePane;
@@ -8,6 +11,7 @@ import plugily.projects.inventoryframework.pane.PaginatedPane;
 import plugily.projects.inventoryframework.pane.Pane;
 import plugily.projects.inventoryframework.pane.StaticPane;
 
+import java.lang.reflect.Proxy;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +54,162 @@ public class InventoryComponentTest {
         assertEquals(original.getPanes().size(), copy.getPanes().size());
     }
 
+    @Test
+    void testDisplayWithoutChanges() {
+        InventoryComponent inventoryComponent = new InventoryComponent(9, 6);
+
+        inventoryComponent.addPane(new StaticPane(9, 6));
+        inventoryComponent.display();
+
+        assertEquals(0, inventoryComponent.getChangedSlotCount());
+        assertEquals(0, inventoryComponent.excludeRows(0, 1).getChangedSlotCount());
+    }
+
+    @Test
+    void testDisplayWithOneChangedSlot() {
+        InventoryComponent inventoryComponent = new InventoryComponent(9, 6);
+        StaticPane pane = new StaticPane(9, 6);
+        GuiItem changingItem = GuiItem.owning(new TestItemStack(1), null);
+
+        pane.addItem(changingItem, 4, 2);
+        pane.addItem(GuiItem.owning(new TestItemStack(1), null), 0, 0);
+        pane.addItem(GuiItem.owning(new TestItemStack(1), null), 8, 5);
+
+        inventoryComponent.addPane(pane);
+        inventoryComponent.display();
+
+        assertEquals(3, inventoryComponent.getChangedSlotCount());
+
+        inventoryComponent.display();
+
+        assertEquals(0, inventoryComponent.getChangedSlotCount());
+
+        changingItem.getItem().setAmount(2);
+        inventoryComponent.display();
+
+        assertEquals(1, inventoryComponent.getChangedSlotCount());
+
+        //the item has been handed out, so it may be changed at any time
+        inventoryComponent.display();
+
+        assertEquals(1, inventoryComponent.getChangedSlotCount());
+    }
+
+    @Test
+    void testDisplayWithRetainedItem() {
+        InventoryComponent inventoryComponent = new InventoryComponent(9, 1);
+        StaticPane pane = new StaticPane(9, 1);
+        TestItemStack item = new TestItemStack(1);
+
+        pane.addItem(new GuiItem(item), 0, 0);
+        pane.addItem(GuiItem.owning(new TestItemStack(1), null), 1, 0);
+
+        inventoryComponent.addPane(pane);
+        inventoryComponent.display();
+
+        item.setAmount(2);
+        inventoryComponent.display();
+
+        assertEquals(1, inventoryComponent.getChangedSlotCount());
+        assertEquals(2, inventoryComponent.getItem(0, 0).getAmount());
+    }
+
+    @Test
+    void testDisplayInvalidated() {
+        InventoryComponent inventoryComponent = new InventoryComponent(9, 6);
+
+        inventoryComponent.addPane(new StaticPane(2, 2, 3, 3));
+        inventoryComponent.invalidate(-5, -5, 2, 2);
+        inventoryComponent.invalidate(1, 1, 4, 4);
+        inventoryComponent.displayInvalidated();
+
+        assertEquals(0, inventoryComponent.getChangedSlotCount());
+
+        inventoryComponent.displayInvalidated();
+
+        assertEquals(0, inventoryComponent.getChangedSlotCount());
+    }
+
+    @Test
+    void testDisplayedPanes() {
+        InventoryComponent inventoryComponent = new InventoryComponent(3, 1);
+        StaticPane first = new StaticPane(0, 0, 1, 1);
+        StaticPane second = new StaticPane(1, 0, 1, 1);
+        GuiItem firstItem = new GuiItem(new TestItemStack(1));
+        GuiItem secondItem = new GuiItem(new TestItemStack(2));
+
+        first.addItem(firstItem, 0, 0);
+        second.addItem(secondItem, 0, 0);
+
+        inventoryComponent.addPane(first);
+        inventoryComponent.addPane(second);
+
+        //the second display replays the compiled plan
+        for (int i = 0; i < 2; i++) {
+            inventoryComponent.display();
+
+            assertSame(first, inventoryComponent.getDisplayedPane(0));
+            assertSame(firstItem, inventoryComponent.getDisplayedItem(0));
+            assertSame(second, inventoryComponent.getDisplayedPane(1));
+            assertSame(secondItem, inventoryComponent.getDisplayedItem(1));
+            assertNull(inventoryComponent.getDisplayedPane(2));
+            assertNull(inventoryComponent.getDisplayedItem(2));
+        }
+    }
+
+    @Test
+    void testDisplayedItemsPerViewer() {
+        InventoryComponent inventoryComponent = new InventoryComponent(1, 1);
+        StaticPane pane = new StaticPane(1, 1);
+        GuiItem firstItem = new GuiItem(new TestItemStack(1));
+        GuiItem secondItem = new GuiItem(new TestItemStack(2));
+        HumanEntity first = createHumanEntity();
+        HumanEntity second = createHumanEntity();
+
+        inventoryComponent.addPane(pane);
+
+        pane.addItem(firstItem, 0, 0);
+        ViewState.runAs(first, inventoryComponent::display);
+
+        pane.addItem(secondItem, 0, 0);
+        ViewState.runAs(second, inventoryComponent::display);
+
+        ViewState.runAs(first, () -> assertSame(firstItem, inventoryComponent.getDisplayedItem(0)));
+        ViewState.runAs(second, () -> assertSame(secondItem, inventoryComponent.getDisplayedItem(0)));
+        assertNull(inventoryComponent.getDisplayedItem(0));
+        assertNull(inventoryComponent.getDisplayedPane(0));
+
+        inventoryComponent.display();
+
+        assertSame(pane, inventoryComponent.getDisplayedPane(0));
+        assertSame(secondItem, inventoryComponent.getDisplayedItem(0));
+        ViewState.runAs(first, () -> assertSame(firstItem, inventoryComponent.getDisplayedItem(0)));
+    }
+
+    @Test
+    void testGetPlayerStorageContents() {
+        InventoryComponent inventoryComponent = new InventoryComponent(9, 6);
+        GuiItem[] guiItems = new GuiItem[54];
+
+        for (int slot = 0; slot < guiItems.length; slot++) {
+            guiItems[slot] = new GuiItem(new TestItemStack(1));
+
+            inventoryComponent.setItem(guiItems[slot], slot);
+        }
+
+        ItemStack[] contents = inventoryComponent.getPlayerStorageContents(2, 5);
+
+        assertEquals(36, contents.length);
+
+        //the last row goes into the hotbar, the rows before it into the main inventory
+        for (int column = 0; column < 9; column++) {
+            assertSame(guiItems[5 * 9 + column].getItem(), contents[column]);
+            assertSame(guiItems[2 * 9 + column].getItem(), contents[9 + column]);
+            assertSame(guiItems[3 * 9 + column].getItem(), contents[18 + column]);
+            assertSame(guiItems[4 * 9 + column].getItem(), contents[27 + column]);
+        }
+    }
+
     @Test
     void testExcludeRowsValid() {
         InventoryComponent original = new InventoryComponent(0, 6);
@@ -77,6 +237,15 @@ public class InventoryComponentTest {
         assertThrows(IllegalArgumentException.class, () -> inventoryComponent.excludeRows(8, 8));
     }
 
+    @Test
+    void testHasItemInRows() {
+        InventoryComponent inventoryComponent = new InventoryComponent(9, 6);
+
+        assertFalse(inventoryComponent.hasItemInRows(2, 5));
+        assertThrows(IllegalArgumentException.class, () -> inventoryComponent.hasItemInRows(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> inventoryComponent.hasItemInRows(2, 6));
+    }
+
     @Test
     void testGetPanesEmptyWhenNone() {
         assertEquals(0, new InventoryComponent(0, 0).getPanes().size());
@@ -101,4 +270,18 @@ public class InventoryComponentTest {
     void testGetSize() {
         assertEquals(30, new InventoryComponent(3, 10).getSize());
     }
+
+    private HumanEntity createHumanEntity() {
+        return (HumanEntity) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {HumanEntity.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException();
+                }
+            });
+    }
 }
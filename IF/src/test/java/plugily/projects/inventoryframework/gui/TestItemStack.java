@@ -0,0 +1,21 @@
+package plugily.projects.inventoryframework.gui;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * An item stack which doesn't need a server. It has no meta, so no UUID is applied to it when a gui item places it.
+ */
+public class TestItemStack extends ItemStack {
+
+    public TestItemStack(int amount) {
+        setType(Material.STONE);
+        setAmount(amount);
+    }
+
+    @Override
+    public ItemMeta getItemMeta() {
+        return null;
+    }
+}
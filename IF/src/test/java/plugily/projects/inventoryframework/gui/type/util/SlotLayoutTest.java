@@ -0,0 +1,39 @@
+package plugily.projects.inventoryframework.gui.type.util;
+
+import plugily.projects.inventoryframework.gui.InventoryComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlotLayoutTest {
+
+    @Test
+    void testCreateComponents() {
+        SlotLayout layout = new SlotLayout(
+            new SlotLayout.Region("output", 0, 1, 1),
+            new SlotLayout.Region("input", 1, 3, 3)
+        );
+
+        InventoryComponent[] components = layout.createComponents();
+
+        assertEquals(3, components.length);
+        assertEquals(10, layout.getTopSize());
+
+        assertEquals(3, components[1].getLength());
+        assertEquals(3, components[1].getHeight());
+        assertEquals(9, components[2].getLength());
+        assertEquals(4, components[2].getHeight());
+
+        assertSame(components[1], layout.getComponent(components, "input"));
+        assertSame(components[2], layout.getComponent(components, "player-inventory"));
+        assertNull(layout.getComponent(components, "fuel"));
+    }
+
+    @Test
+    void testOverlappingRegions() {
+        assertThrows(IllegalArgumentException.class, () -> new SlotLayout(
+            new SlotLayout.Region("items", 0, 1, 2),
+            new SlotLayout.Region("result", 1, 1, 1)
+        ));
+    }
+}
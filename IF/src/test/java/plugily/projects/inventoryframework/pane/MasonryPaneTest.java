@@ -1,5 +1,6 @@
 package plugily.projects.inventoryframework.pane;
 
+import plugily.projects.inventoryframework.gui.InventoryComponent;
 import plugily.projects.inventoryframework.pane.component.CycleButton;
 import org.junit.jupiter.api.Test;
 
@@ -33,4 +34,99 @@ public class MasonryPaneTest {
         assertEquals(original.getPanes().size(), copy.getPanes().size());
         assertEquals(original.getUUID(), copy.getUUID());
     }
+
+    @Test
+    void testHorizontalPositions() {
+        MasonryPane masonryPane = new MasonryPane(3, 3);
+        StaticPane tall = new StaticPane(1, 2);
+        StaticPane wide = new StaticPane(2, 1);
+        StaticPane small = new StaticPane(1, 1);
+        StaticPane tooWide = new StaticPane(2, 2, 4, 1);
+
+        masonryPane.addPane(tall);
+        masonryPane.addPane(wide);
+        masonryPane.addPane(small);
+        masonryPane.addPane(tooWide);
+
+        masonryPane.display(new InventoryComponent(3, 3), 0, 0, 3, 3);
+
+        assertPosition(0, 0, tall);
+        assertPosition(1, 0, wide);
+        assertPosition(1, 1, small);
+        assertPosition(2, 2, tooWide);
+    }
+
+    @Test
+    void testVerticalPositions() {
+        MasonryPane masonryPane = new MasonryPane(3, 3);
+        StaticPane tall = new StaticPane(1, 2);
+        StaticPane wide = new StaticPane(2, 1);
+        StaticPane small = new StaticPane(1, 1);
+        StaticPane tooWide = new StaticPane(2, 2, 4, 1);
+
+        masonryPane.setOrientation(Orientable.Orientation.VERTICAL);
+        masonryPane.addPane(tall);
+        masonryPane.addPane(wide);
+        masonryPane.addPane(small);
+        masonryPane.addPane(tooWide);
+
+        masonryPane.display(new InventoryComponent(3, 3), 0, 0, 3, 3);
+
+        assertPosition(0, 0, tall);
+        assertPosition(0, 2, wide);
+        assertPosition(1, 0, small);
+        assertPosition(2, 2, tooWide);
+    }
+
+    @Test
+    void testPositionsInWideRows() {
+        MasonryPane masonryPane = new MasonryPane(70, 1);
+        StaticPane first = new StaticPane(60, 1);
+        StaticPane acrossWords = new StaticPane(8, 1);
+        StaticPane tooLong = new StaticPane(5, 5, 3, 1);
+        StaticPane last = new StaticPane(2, 1);
+
+        masonryPane.addPane(first);
+        masonryPane.addPane(acrossWords);
+        masonryPane.addPane(tooLong);
+        masonryPane.addPane(last);
+
+        masonryPane.display(new InventoryComponent(70, 1), 0, 0, 70, 1);
+
+        assertPosition(0, 0, first);
+        assertPosition(60, 0, acrossWords);
+        assertPosition(5, 5, tooLong);
+        assertPosition(68, 0, last);
+    }
+
+    @Test
+    void testLayoutReuseDoesNotMovePanes() {
+        MasonryPane masonryPane = new MasonryPane(3, 3);
+        int[] moves = new int[1];
+
+        masonryPane.addPane(new StaticPane(2, 2));
+        masonryPane.addPane(new StaticPane(1, 1) {
+            @Override
+            public void setX(int x) {
+                moves[0]++;
+
+                super.setX(x);
+            }
+        });
+
+        InventoryComponent inventoryComponent = new InventoryComponent(3, 3);
+
+        masonryPane.display(inventoryComponent, 0, 0, 3, 3);
+
+        assertEquals(1, moves[0]);
+
+        masonryPane.display(inventoryComponent, 0, 0, 3, 3);
+
+        assertEquals(1, moves[0]);
+    }
+
+    private static void assertPosition(int x, int y, Pane pane) {
+        assertEquals(x, pane.getX());
+        assertEquals(y, pane.getY());
+    }
 }
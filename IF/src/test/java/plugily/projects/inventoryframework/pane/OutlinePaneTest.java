@@ -45,4 +45,21 @@ public class OutlinePaneTest {
         Assertions.assertEquals(original.getMask(), copy.getMask());
         assertEquals(original.getUUID(), copy.getUUID());
     }
+
+    @Test
+    void testVersion() {
+        OutlinePane pane = new OutlinePane(3, 3);
+        long version = pane.getVersion();
+
+        pane.setX(0);
+        assertEquals(version, pane.getVersion());
+
+        pane.setX(1);
+        assertTrue(pane.getVersion() > version);
+
+        version = pane.getVersion();
+
+        pane.setGap(1);
+        assertTrue(pane.getVersion() > version);
+    }
 }
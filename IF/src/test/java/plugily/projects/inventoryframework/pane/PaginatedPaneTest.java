@@ -1,7 +1,11 @@
 package plugily.projects.inventoryframework.pane;
 
+import plugily.projects.inventoryframework.pane.util.ViewState;
+import org.bukkit.entity.HumanEntity;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Proxy;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PaginatedPaneTest {
@@ -33,4 +37,65 @@ public class PaginatedPaneTest {
         assertEquals(original.getPages(), copy.getPages());
         assertEquals(original.getUUID(), copy.getUUID());
     }
+
+    @Test
+    void testVersion() {
+        PaginatedPane paginatedPane = new PaginatedPane(3, 3);
+        OutlinePane first = new OutlinePane(3, 3);
+        OutlinePane second = new OutlinePane(3, 3);
+
+        paginatedPane.addPane(0, first);
+        paginatedPane.addPane(1, second);
+
+        long version = paginatedPane.getVersion();
+
+        second.setRepeat(true);
+        assertEquals(version, paginatedPane.getVersion());
+
+        first.setRepeat(true);
+        assertTrue(paginatedPane.getVersion() > version);
+
+        version = paginatedPane.getVersion();
+
+        paginatedPane.setPage(1);
+        assertTrue(paginatedPane.getVersion() > version);
+    }
+
+    @Test
+    void testPerViewerPage() {
+        PaginatedPane paginatedPane = new PaginatedPane(3, 3);
+
+        paginatedPane.addPane(0, new OutlinePane(3, 3));
+        paginatedPane.addPane(1, new OutlinePane(3, 3));
+        paginatedPane.addPane(2, new OutlinePane(3, 3));
+
+        HumanEntity first = createHumanEntity();
+        HumanEntity second = createHumanEntity();
+
+        ViewState.runAs(first, () -> paginatedPane.setPage(1));
+        ViewState.runAs(second, () -> paginatedPane.setPage(2));
+
+        assertEquals(0, paginatedPane.getPage());
+        assertFalse(paginatedPane.isCacheable());
+
+        ViewState.runAs(first, () -> assertEquals(1, paginatedPane.getPage()));
+        ViewState.runAs(second, () -> assertEquals(2, paginatedPane.getPage()));
+
+        assertEquals(0, paginatedPane.copy().getPage());
+        assertTrue(paginatedPane.copy().isCacheable());
+    }
+
+    private HumanEntity createHumanEntity() {
+        return (HumanEntity) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {HumanEntity.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException();
+                }
+            });
+    }
 }
@@ -1,9 +1,24 @@
 package plugily.projects.inventoryframework.pane;
 
+import plugily.projects.inventoryframework.gui.GuiItem;
+import plugily.projects.inventoryframework.gui.InventoryComponent;
+import plugily.projects.inventoryframework.gui.TestItemStack;
 import plugily.projects.inventoryframework.pane.util.Pattern;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PatternPaneTest {
@@ -50,4 +65,171 @@ public class PatternPaneTest {
         Assertions.assertEquals(original.getPattern(), copy.getPattern());
         assertEquals(original.getUUID(), copy.getUUID());
     }
+
+    @Test
+    void testDisplayRotated() {
+        GuiItem[] items = createItems();
+        PatternPane pane = createPane(items);
+
+        pane.setRotation(90);
+
+        assertDisplayed(pane, items[2], items[0], items[3], items[1]);
+    }
+
+    @Test
+    void testDisplayFlipped() {
+        GuiItem[] items = createItems();
+        PatternPane pane = createPane(items);
+
+        pane.flipHorizontally(true);
+
+        assertDisplayed(pane, items[1], items[0], items[3], items[2]);
+
+        pane.flipVertically(true);
+
+        assertDisplayed(pane, items[3], items[2], items[1], items[0]);
+    }
+
+    @Test
+    void testClickRotatedAndFlipped() {
+        List<GuiItem> clicked = new ArrayList<>();
+        GuiItem[] items = createItems(clicked);
+        PatternPane pane = createPane(items);
+        InventoryComponent inventoryComponent = new InventoryComponent(2, 2);
+
+        pane.setRotation(90);
+        pane.flipVertically(true);
+
+        inventoryComponent.addPane(pane);
+        inventoryComponent.display();
+
+        for (int slot = 0; slot < 4; slot++) {
+            assertTrue(pane.click(null, inventoryComponent, createClickEvent(slot), slot, 0, 0, 2, 2));
+            assertSame(inventoryComponent.getDisplayedItem(slot), clicked.get(slot));
+        }
+    }
+
+    @Test
+    void testRebind() {
+        List<GuiItem> clicked = new ArrayList<>();
+        GuiItem[] items = createItems(clicked);
+        PatternPane pane = createPane(items);
+
+        assertDisplayed(pane, items[0], items[1], items[2], items[3]);
+
+        pane.setPattern(new Pattern(
+            "43",
+            "21"
+        ));
+
+        assertDisplayed(pane, items[3], items[2], items[1], items[0]);
+
+        GuiItem item = createItem(clicked);
+
+        pane.bindItem('4', item);
+
+        InventoryComponent inventoryComponent = assertDisplayed(pane, item, items[2], items[1], items[0]);
+
+        assertTrue(pane.click(null, inventoryComponent, createClickEvent(0), 0, 0, 0, 2, 2));
+        assertSame(item, clicked.get(0));
+        assertEquals(4, pane.getItems().size());
+        assertFalse(pane.getItems().contains(items[3]));
+    }
+
+    private InventoryComponent assertDisplayed(PatternPane pane, GuiItem... expected) {
+        InventoryComponent inventoryComponent = new InventoryComponent(2, 2);
+
+        inventoryComponent.addPane(pane);
+        inventoryComponent.display();
+
+        for (int slot = 0; slot < expected.length; slot++) {
+            assertSame(expected[slot], inventoryComponent.getDisplayedItem(slot));
+            assertSame(pane, inventoryComponent.getDisplayedPane(slot));
+        }
+
+        return inventoryComponent;
+    }
+
+    private PatternPane createPane(GuiItem[] items) {
+        PatternPane pane = new PatternPane(2, 2, new Pattern(
+            "12",
+            "34"
+        ));
+
+        for (int index = 0; index < items.length; index++) {
+            pane.bindItem((char) ('1' + index), items[index]);
+        }
+
+        return pane;
+    }
+
+    private GuiItem[] createItems() {
+        return createItems(new ArrayList<>());
+    }
+
+    private GuiItem[] createItems(List<GuiItem> clicked) {
+        GuiItem[] items = new GuiItem[4];
+
+        for (int index = 0; index < items.length; index++) {
+            items[index] = createItem(clicked);
+        }
+
+        return items;
+    }
+
+    private GuiItem createItem(List<GuiItem> clicked) {
+        GuiItem[] item = new GuiItem[1];
+
+        item[0] = new GuiItem(new TestItemStack(1), event -> clicked.add(item[0]));
+
+        return item[0];
+    }
+
+    private InventoryClickEvent createClickEvent(int slot) {
+        Inventory inventory = (Inventory) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {Inventory.class}, (proxy, method, args) -> {
+                if (method.getName().equals("getSize")) {
+                    return 4;
+                }
+
+                throw new UnsupportedOperationException();
+            });
+
+        InventoryView view = new InventoryView() {
+            @Override
+            public Inventory getTopInventory() {
+                return inventory;
+            }
+
+            @Override
+            public Inventory getBottomInventory() {
+                return inventory;
+            }
+
+            @Override
+            public HumanEntity getPlayer() {
+                return null;
+            }
+
+            @Override
+            public InventoryType getType() {
+                return InventoryType.CHEST;
+            }
+
+            @Override
+            public String getTitle() {
+                return "";
+            }
+        };
+
+        ItemStack item = new TestItemStack(1);
+
+        return new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT,
+            InventoryAction.PICKUP_ALL) {
+            @Override
+            public ItemStack getCurrentItem() {
+                return item;
+            }
+        };
+    }
 }
@@ -1,7 +1,13 @@
 package plugily.projects.inventoryframework.pane;
 
+import plugily.projects.inventoryframework.gui.GuiItem;
+import plugily.projects.inventoryframework.gui.InventoryComponent;
+import plugily.projects.inventoryframework.gui.TestItemStack;
+import org.bukkit.inventory.ItemStack;
 import org.junit.jupiter.api.Test;
 
+import java.util.Iterator;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class StaticPaneTest {
@@ -29,4 +35,79 @@ public class StaticPaneTest {
         assertEquals(original.isFlippedVertically(), copy.isFlippedVertically());
         assertEquals(original.getUUID(), copy.getUUID());
     }
+
+    @Test
+    void testResizeKeepsPositions() {
+        StaticPane pane = new StaticPane(3, 2);
+        ItemStack item = new TestItemStack(1);
+
+        pane.addItem(new GuiItem(item), 2, 1);
+        pane.setLength(2);
+        pane.setHeight(1);
+
+        assertEquals(1, pane.getItems().size());
+
+        pane.setLength(3);
+        pane.setHeight(2);
+
+        InventoryComponent inventoryComponent = new InventoryComponent(3, 2);
+
+        inventoryComponent.addPane(pane);
+        inventoryComponent.display();
+
+        assertSame(item, inventoryComponent.getItem(2, 1));
+        assertNull(inventoryComponent.getItem(0, 1));
+    }
+
+    @Test
+    void testOutOfBoundsItems() {
+        StaticPane pane = new StaticPane(2, 2);
+        GuiItem inBounds = new GuiItem(new TestItemStack(1));
+        GuiItem outOfBounds = new GuiItem(new TestItemStack(2));
+
+        pane.addItem(inBounds, 1, 1);
+        pane.addItem(outOfBounds, 4, 0);
+
+        assertEquals(2, pane.getItems().size());
+        assertTrue(pane.getItems().contains(outOfBounds));
+
+        pane.removeItem(4, 0);
+
+        assertEquals(1, pane.getItems().size());
+        assertFalse(pane.getItems().contains(outOfBounds));
+
+        pane.addItem(outOfBounds, 4, 0);
+        pane.clear();
+
+        assertTrue(pane.getItems().isEmpty());
+    }
+
+    @Test
+    void testRemoveThroughIterator() {
+        StaticPane pane = new StaticPane(2, 2);
+        GuiItem first = new GuiItem(new TestItemStack(1));
+        GuiItem second = new GuiItem(new TestItemStack(2));
+        GuiItem outOfBounds = new GuiItem(new TestItemStack(3));
+
+        pane.addItem(first, 0, 0);
+        pane.addItem(second, 1, 1);
+        pane.addItem(outOfBounds, 2, 2);
+
+        Iterator<GuiItem> iterator = pane.getItems().iterator();
+
+        assertSame(first, iterator.next());
+        iterator.remove();
+        assertSame(second, iterator.next());
+        assertSame(outOfBounds, iterator.next());
+        iterator.remove();
+        assertFalse(iterator.hasNext());
+
+        assertEquals(1, pane.getItems().size());
+        assertTrue(pane.getItems().contains(second));
+
+        pane.setLength(3);
+        pane.setHeight(3);
+
+        assertEquals(1, pane.getItems().size());
+    }
 }
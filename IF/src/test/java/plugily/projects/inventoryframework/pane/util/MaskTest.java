@@ -140,4 +140,28 @@ public class MaskTest {
             "01"
         ).setHeight(2));
     }
+
+    @Test
+    void testNextEnabledSlot() {
+        Mask mask = new Mask(
+            "010",
+            "000",
+            "101"
+        );
+
+        assertEquals(1, mask.nextEnabledSlot(0));
+        assertEquals(1, mask.nextEnabledSlot(1));
+        assertEquals(6, mask.nextEnabledSlot(2));
+        assertEquals(8, mask.nextEnabledSlot(7));
+        assertEquals(-1, mask.nextEnabledSlot(9));
+    }
+
+    @Test
+    void testSetLengthWide() {
+        Mask mask = new Mask("10").setLength(70);
+
+        assertEquals(69, mask.amountOfEnabledSlots());
+        assertEquals(69, mask.nextEnabledSlot(69));
+        assertEquals(new Mask("1"), mask.setLength(1));
+    }
 }
@@ -25,6 +25,23 @@ public class GeometryUtilTest {
         testRotation(3, 1, GeometryUtil.processCounterClockwiseRotation(1, 0, 4, 4, 270));
     }
 
+    @Test
+    void testTransformTable() {
+        int[] table = GeometryUtil.getTransformTable(4, 4, 90, true, false);
+
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                int index = (y * 4 + x) * 2;
+
+                testRotation(table[index], table[index + 1],
+                    GeometryUtil.processClockwiseRotation(4 - x - 1, y, 4, 4, 90));
+            }
+        }
+
+        assertSame(table, GeometryUtil.getTransformTable(4, 4, 90, true, false));
+        assertNotSame(table, GeometryUtil.getTransformTable(4, 4, 90, false, false));
+    }
+
     void testRotation(int expectedX, int expectedY, @NotNull Map.Entry<Integer, Integer> coordinates) {
         assertEquals(expectedX, (int) coordinates.getKey());
         assertEquals(expectedY, (int) coordinates.getValue());
@@ -0,0 +1,74 @@
+package plugily.projects.inventoryframework.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeakIdentityRegistryTest {
+
+    @Test
+    void testIdentity() {
+        WeakIdentityRegistry<String, Object> registry = new WeakIdentityRegistry<>();
+
+        String key = new String("inventory");
+        String equalKey = new String("inventory");
+        Object value = new Object();
+
+        registry.put(key, value);
+
+        assertSame(value, registry.get(key));
+        assertNull(registry.get(equalKey));
+        assertEquals(1, registry.size());
+
+        registry.remove(equalKey);
+
+        assertSame(value, registry.get(key));
+
+        registry.remove(key);
+
+        assertNull(registry.get(key));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testCollectedKeyIsExpunged() {
+        WeakIdentityRegistry<Object, Object> registry = new WeakIdentityRegistry<>();
+        Object key = new Object();
+
+        registry.put(key, new Object());
+        registry.collectKey(key);
+
+        assertNull(registry.get(key));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testCollectedValueIsExpungedOnPut() {
+        WeakIdentityRegistry<Object, Object> registry = new WeakIdentityRegistry<>();
+        Object key = new Object();
+        Object otherKey = new Object();
+        Object otherValue = new Object();
+
+        registry.put(key, new Object());
+        registry.collectValue(key);
+        registry.put(otherKey, otherValue);
+
+        assertNull(registry.get(key));
+        assertSame(otherValue, registry.get(otherKey));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testReplacedValueIsKept() {
+        WeakIdentityRegistry<Object, Object> registry = new WeakIdentityRegistry<>();
+        Object key = new Object();
+        Object value = new Object();
+
+        registry.put(key, new Object());
+        registry.collectValue(key);
+        registry.put(key, value);
+
+        assertSame(value, registry.get(key));
+        assertEquals(1, registry.size());
+    }
+}